@@ -42,6 +42,10 @@ CREATE TABLE items (
     version_minor INT NOT NULL DEFAULT 0,                      -- 버전 minor
     version_patch INT NOT NULL DEFAULT 0,                      -- 버전 patch
     description   TEXT,                                        -- 설명
+    latest_scan_version      INT,                              -- scan 최신 버전 포인터
+    latest_schema_version    INT,                              -- schema_data 최신 버전 포인터
+    latest_translate_version INT,                              -- translate 최신 버전 포인터
+    latest_sketch_version    INT,                              -- sketch 최신 버전 포인터
     created_by    BIGINT NOT NULL,                             -- 생성자 FK
     updated_by    BIGINT,                                      -- 수정자 FK
     created_at    DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -81,10 +85,14 @@ CREATE TABLE scan (
     id             VARCHAR(36) PRIMARY KEY,                    -- PK, UUID 문자열
     item_id        VARCHAR(36) NOT NULL,                       -- FK to items
     scan_image_url TEXT NOT NULL,                              -- 스캔 이미지 URL
-    scan_meta      JSON,                                       -- 메타데이터 JSON
+    scan_meta      JSON,                                       -- OCR 결과 ("ocr1:..." 바이너리 문자열, 이전 행은 JSON)
+    image_hash     CHAR(64),                                   -- 원본 이미지 SHA-256 (OCR 캐시 키)
+    version        INT,                                        -- item 별 버전 (1부터 증가, 추가만 하고 수정하지 않음)
     created_at     DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_scan_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
-    INDEX idx_scan_item (item_id)
+    INDEX idx_scan_item (item_id),
+    UNIQUE INDEX uk_scan_item_version (item_id, version),
+    INDEX idx_scan_image_hash (image_hash)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ============================================
@@ -95,10 +103,15 @@ DROP TABLE IF EXISTS schema_data;
 CREATE TABLE schema_data (
     id         VARCHAR(36) PRIMARY KEY,                        -- PK, UUID 문자열
     item_id    VARCHAR(36) NOT NULL,                           -- FK to items
-    data       JSON NOT NULL,                                  -- 구조화 데이터 JSON
+    data       JSON NOT NULL,                                  -- 구조화 데이터 JSON 또는 JSON Patch (1KB 이상은 "gz1:..." 압축 문자열)
+    input_hash CHAR(64),                                       -- 단계 입력(구조화 요청) SHA-256, 재실행 시 재사용 판단
+    version    INT,                                            -- item 별 버전 (1부터 증가, 추가만 하고 수정하지 않음)
+    base_version     INT,                                      -- NULL 이면 data 는 전체 문서, 아니면 이 버전 대비 JSON Patch
+    snapshot_version INT,                                      -- patch 체인이 시작된 스냅샷 버전
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_schema_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
-    INDEX idx_schema_item (item_id)
+    INDEX idx_schema_item (item_id),
+    UNIQUE INDEX uk_schema_item_version (item_id, version)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ============================================
@@ -107,12 +120,19 @@ CREATE TABLE schema_data (
 -- ============================================
 DROP TABLE IF EXISTS translate;
 CREATE TABLE translate (
-    id         VARCHAR(36) PRIMARY KEY,                        -- PK, UUID 문자열
-    item_id    VARCHAR(36) NOT NULL,                           -- FK to items
-    data       JSON NOT NULL,                                  -- 번역 결과 JSON
-    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    id             VARCHAR(36) PRIMARY KEY,                    -- PK, UUID 문자열
+    item_id        VARCHAR(36) NOT NULL,                       -- FK to items
+    target_country VARCHAR(10),                                -- 대상 국가 (다국가 생성 시)
+    data           JSON NOT NULL,                              -- 번역 결과 JSON 또는 JSON Patch (1KB 이상은 "gz1:..." 압축 문자열)
+    input_hash     CHAR(64),                                   -- 단계 입력(번역 요청) SHA-256, 재실행 시 재사용 판단
+    version        INT,                                        -- item 별 버전 (1부터 증가, 추가만 하고 수정하지 않음)
+    base_version     INT,                                      -- NULL 이면 data 는 전체 문서, 아니면 같은 국가 이전 버전 대비 JSON Patch
+    snapshot_version INT,                                      -- patch 체인이 시작된 스냅샷 버전
+    created_at     DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_translate_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
-    INDEX idx_translate_item (item_id)
+    INDEX idx_translate_item (item_id),
+    UNIQUE INDEX uk_translate_item_version (item_id, version),
+    INDEX idx_translate_item_country_version (item_id, target_country, version)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ============================================
@@ -121,12 +141,17 @@ CREATE TABLE translate (
 -- ============================================
 DROP TABLE IF EXISTS sketch;
 CREATE TABLE sketch (
-    id         VARCHAR(36) PRIMARY KEY,                        -- PK, UUID 문자열
-    item_id    VARCHAR(36) NOT NULL,                           -- FK to items
-    data       LONGTEXT NOT NULL,                              -- HTML/레이아웃 데이터
-    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    id             VARCHAR(36) PRIMARY KEY,                    -- PK, UUID 문자열
+    item_id        VARCHAR(36) NOT NULL,                       -- FK to items
+    target_country VARCHAR(10),                                -- 대상 국가 (다국가 생성 시)
+    data           LONGTEXT NOT NULL,                          -- HTML/레이아웃 데이터 (1KB 이상은 "gz1:..." 압축 문자열)
+    input_hash     CHAR(64),                                   -- 단계 입력(HTML 생성 요청) SHA-256, 재실행 시 재사용 판단
+    version        INT,                                        -- item 별 버전 (1부터 증가, 추가만 하고 수정하지 않음)
+    created_at     DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_sketch_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
-    INDEX idx_sketch_item (item_id)
+    INDEX idx_sketch_item (item_id),
+    UNIQUE INDEX uk_sketch_item_version (item_id, version),
+    INDEX idx_sketch_item_country_version (item_id, target_country, version)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ============================================
@@ -141,4 +166,44 @@ CREATE TABLE violations (
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_violations_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
     INDEX idx_violations_item (item_id)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- 9. PIPELINE_JOB 테이블
+-- 목적: 비동기 파이프라인 작업 상태 및 단계별 결과 저장 (재시작 시 재개)
+-- ============================================
+DROP TABLE IF EXISTS pipeline_job;
+CREATE TABLE pipeline_job (
+    id                 VARCHAR(36) PRIMARY KEY,                -- PK, UUID 문자열 (jobId)
+    status             VARCHAR(20) NOT NULL,                   -- PENDING/RUNNING/COMPLETED/FAILED
+    current_stage      VARCHAR(20) NOT NULL,                   -- OCR/STRUCTURE/TRANSLATE/HTML/DONE
+    target_country     VARCHAR(50),                            -- 번역 대상 국가
+    generate_html      TINYINT(1),                             -- HTML 생성 여부
+    image_path         TEXT NOT NULL,                          -- 스풀 디렉터리 내 이미지 경로
+    image_filename     VARCHAR(255),                           -- 원본 파일명
+    image_content_type VARCHAR(100),                           -- 원본 Content-Type
+    ocr_result         JSON,                                   -- OCR 단계 결과
+    structure_result   JSON,                                   -- 구조화 단계 결과
+    translate_result   JSON,                                   -- 번역 단계 결과
+    html_result        LONGTEXT,                               -- HTML 단계 결과
+    error_message      TEXT,                                   -- 실패 사유
+    created_by         BIGINT NOT NULL,                        -- 요청자 FK
+    created_at         DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at         DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_pipeline_job_created_by FOREIGN KEY (created_by) REFERENCES users(id),
+    INDEX idx_pipeline_job_status (status, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ============================================
+-- 10. TRANSLATE_CACHE 테이블
+-- 목적: (모델 버전, 언어, 데이터, 대상 국가) 해시 기준 번역 결과 캐시
+-- ============================================
+DROP TABLE IF EXISTS translate_cache;
+CREATE TABLE translate_cache (
+    cache_key      CHAR(64) PRIMARY KEY,                       -- PK, 정규화 요청 SHA-256
+    model_version  VARCHAR(100) NOT NULL,                      -- 번역 모델 버전 (변경 시 무효화)
+    target_country VARCHAR(50),                                -- 번역 대상 국가
+    response       JSON NOT NULL,                              -- TranslateResponse JSON
+    created_at     DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_translate_cache_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,129 @@
+package com.labelai.stub;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 실제 모델 서버와 같은 형태의 응답 (백엔드 OcrResponse / StructureResponse / TranslateResponse / PipelineResponse)
+ */
+@Component
+@RequiredArgsConstructor
+public class LabelFixtures {
+    private static final List<String> LABEL_LINES = List.of(
+        "제품명 : 고소한 들깨 쌀과자", "식품유형 : 과자", "내용량 : 120g (30g x 4봉)",
+        "원재료명 : 쌀(국산) 70%, 들깨 10%, 설탕, 식물성유지(팜유), 정제소금",
+        "밀, 대두, 우유 함유", "이 제품은 땅콩, 메밀을 사용한 제품과 같은 제조시설에서 제조하고 있습니다",
+        "소비기한 : 제조일로부터 12개월", "보관방법 : 직사광선을 피하고 서늘한 곳에 보관",
+        "영양정보 총 내용량 120g 540kcal", "나트륨 360mg 18%", "탄수화물 84g 26%", "당류 12g 12%",
+        "지방 20g 37%", "트랜스지방 0g", "포화지방 8g 53%", "콜레스테롤 0mg 0%", "단백질 8g 15%",
+        "제조원 : (주)라벨푸드 경기도 이천시", "반품 및 교환 : 구입처 및 본사", "부정불량식품신고는 국번없이 1399");
+
+    private final LatencyProfile latencyProfile;
+    private final StubProperties properties;
+
+    public Map<String, Object> ocr(String filename, String language, long imageBytes) {
+        Random random = latencyProfile.random();
+        int lines = properties.getOcrLines();
+        List<String> texts = new ArrayList<>(lines);
+        List<List<List<Integer>>> boxes = new ArrayList<>(lines);
+        List<Double> confidences = new ArrayList<>(lines);
+        double sum = 0;
+        for (int i = 0; i < lines; i++) {
+            texts.add(LABEL_LINES.get(i % LABEL_LINES.size()));
+            int x = 40 + random.nextInt(20);
+            int y = 40 + i * 36;
+            int width = 400 + random.nextInt(600);
+            boxes.add(List.of(List.of(x, y), List.of(x + width, y), List.of(x + width, y + 30), List.of(x, y + 30)));
+            double confidence = Math.round((0.85 + random.nextDouble() * 0.14) * 10000) / 10000.0;
+            confidences.add(confidence);
+            sum += confidence;
+        }
+
+        Map<String, Object> rawData = new LinkedHashMap<>();
+        rawData.put("recTexts", texts);
+        rawData.put("boxes", boxes);
+        rawData.put("confidences", confidences);
+        rawData.put("averageConfidence", lines > 0 ? sum / lines : 0.0);
+        rawData.put("language", language);
+        rawData.put("totalLines", lines);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("filename", filename);
+        response.put("language", language);
+        response.put("texts", texts);
+        response.put("rawData", rawData);
+        return response;
+    }
+
+    public Map<String, Object> structure() {
+        Map<String, Object> nutrition = new LinkedHashMap<>();
+        nutrition.put("servingSize", "120g");
+        nutrition.put("calories", "540kcal");
+        nutrition.put("sodium", "360mg");
+        nutrition.put("carbohydrate", "84g");
+        nutrition.put("sugars", "12g");
+        nutrition.put("fat", "20g");
+        nutrition.put("transFat", "0g");
+        nutrition.put("saturatedFat", "8g");
+        nutrition.put("cholesterol", "0mg");
+        nutrition.put("protein", "8g");
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("productName", "고소한 들깨 쌀과자");
+        data.put("foodType", "과자");
+        data.put("netContent", "120g (30g x 4봉)");
+        data.put("ingredients", List.of("쌀(국산) 70%", "들깨 10%", "설탕", "식물성유지(팜유)", "정제소금"));
+        data.put("allergens", List.of("밀", "대두", "우유"));
+        data.put("expiration", "제조일로부터 12개월");
+        data.put("storage", "직사광선을 피하고 서늘한 곳에 보관");
+        data.put("manufacturer", "(주)라벨푸드 경기도 이천시");
+        data.put("nutrition", nutrition);
+        return Map.of("data", data);
+    }
+
+    public Map<String, Object> translate(Map<String, Object> data, String targetCountry) {
+        Map<String, Object> translated = new LinkedHashMap<>();
+        if (data != null) {
+            data.forEach((key, value) -> translated.put(key, translateValue(value, targetCountry)));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("translatedData", translated);
+        response.put("targetCountry", targetCountry);
+        return response;
+    }
+
+    public String html(String country) {
+        int targetSize = properties.getHtmlSizeKb() * 1024;
+        StringBuilder html = new StringBuilder(targetSize + 256);
+        html.append("<!DOCTYPE html><html lang=\"").append(country != null ? country : "ko").append("\"><head>")
+            .append("<meta charset=\"UTF-8\"><title>Label</title></head><body><div class=\"label\"><table>");
+        int row = 0;
+        while (html.length() < targetSize) {
+            String line = LABEL_LINES.get(row % LABEL_LINES.size());
+            html.append("<tr class=\"row-").append(row).append("\"><td>").append(line).append("</td></tr>");
+            row++;
+        }
+        html.append("</table></div></body></html>");
+        return html.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object translateValue(Object value, String targetCountry) {
+        if (value instanceof String text) {
+            return "[" + targetCountry + "] " + text;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return translate((Map<String, Object>) map, targetCountry).get("translatedData");
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(item -> translateValue(item, targetCountry)).toList();
+        }
+        return value;
+    }
+}
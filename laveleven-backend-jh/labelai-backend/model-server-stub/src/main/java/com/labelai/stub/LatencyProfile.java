@@ -0,0 +1,97 @@
+package com.labelai.stub;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 엔드포인트별 지연/오류 주입 (스레드를 점유하지 않고 Mono.delay 로 대기)
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyProfile {
+    // 표준 정규분포 99 percentile
+    private static final double Z_99 = 2.3263;
+
+    private final StubProperties properties;
+    private final long startedAt = System.nanoTime();
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private volatile Random random;
+    private volatile double manualFactor = 1.0;
+    private volatile long manualUntil;
+
+    public <T> Mono<T> apply(String endpoint, Supplier<T> response) {
+        StubProperties.Endpoint profile = properties.endpoint(endpoint);
+        Duration latency = sampleLatency(profile);
+        boolean fail = random().nextDouble() < profile.getErrorRate();
+        calls.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+
+        return Mono.delay(latency).then(Mono.defer(() -> {
+            if (fail) {
+                errors.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+                return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "stub injected error"));
+            }
+            return Mono.fromSupplier(response);
+        }));
+    }
+
+    /**
+     * 실행 중 감속 (부하 테스트 도중 모델 서버가 느려지는 상황 재현)
+     */
+    public void slowDown(double factor, Duration duration) {
+        manualFactor = factor;
+        manualUntil = System.nanoTime() + duration.toNanos();
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "slowdownFactor", currentFactor(),
+            "calls", calls,
+            "errors", errors
+        );
+    }
+
+    private Duration sampleLatency(StubProperties.Endpoint profile) {
+        double median = profile.getMedian().toNanos();
+        double p99 = Math.max(median, profile.getP99().toNanos());
+        double sigma = median > 0 ? Math.log(p99 / median) / Z_99 : 0;
+        double nanos = median * Math.exp(sigma * random().nextGaussian()) * currentFactor();
+        return Duration.ofNanos((long) nanos);
+    }
+
+    private double currentFactor() {
+        long now = System.nanoTime();
+        if (now < manualUntil) {
+            return manualFactor;
+        }
+        StubProperties.Slowdown slowdown = properties.getSlowdown();
+        if (slowdown.getEvery() != null && !slowdown.getEvery().isZero()) {
+            long phase = (now - startedAt) % slowdown.getEvery().toNanos();
+            if (phase >= slowdown.getEvery().toNanos() - slowdown.getDuration().toNanos()) {
+                return slowdown.getFactor();
+            }
+        }
+        return 1.0;
+    }
+
+    Random random() {
+        if (random == null) {
+            synchronized (this) {
+                if (random == null) {
+                    random = properties.getSeed() != null ? new Random(properties.getSeed()) : new Random();
+                }
+            }
+        }
+        return random;
+    }
+}
@@ -0,0 +1,17 @@
+package com.labelai.stub;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * FoodLabel 모델 서버 대역 (GPU 서버 없이 백엔드 처리량 측정용)
+ * 백엔드의 foodlabel.api.base-url 을 http://localhost:8090 으로 지정해 사용
+ */
+@SpringBootApplication
+@EnableConfigurationProperties(StubProperties.class)
+public class ModelServerStubApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ModelServerStubApplication.class, args);
+    }
+}
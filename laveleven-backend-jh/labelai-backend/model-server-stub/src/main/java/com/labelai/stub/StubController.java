@@ -0,0 +1,91 @@
+package com.labelai.stub;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 모델 서버와 같은 경로/요청 형식 (FoodLabelApiClient 가 호출하는 엔드포인트)
+ */
+@RestController
+@RequiredArgsConstructor
+public class StubController {
+    private final LatencyProfile latencyProfile;
+    private final LabelFixtures fixtures;
+
+    @PostMapping(value = "/ocr", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<Map<String, Object>> ocr(@RequestPart("file") FilePart file,
+                                         @RequestParam(defaultValue = "korean") String language) {
+        return readFully(file)
+            .flatMap(bytes -> latencyProfile.apply("ocr", () -> fixtures.ocr(file.filename(), language, bytes)));
+    }
+
+    @PostMapping("/structure")
+    public Mono<Map<String, Object>> structure(@RequestBody Map<String, Object> request) {
+        return latencyProfile.apply("structure", fixtures::structure);
+    }
+
+    @SuppressWarnings("unchecked")
+    @PostMapping("/translate")
+    public Mono<Map<String, Object>> translate(@RequestBody Map<String, Object> request) {
+        Map<String, Object> data = (Map<String, Object>) request.get("data");
+        String targetCountry = (String) request.get("target_country");
+        return latencyProfile.apply("translate", () -> fixtures.translate(data, targetCountry));
+    }
+
+    @PostMapping(value = "/generate-html", produces = MediaType.TEXT_HTML_VALUE)
+    public Mono<String> generateHtml(@RequestBody Map<String, Object> request) {
+        return latencyProfile.apply("generate-html", () -> fixtures.html((String) request.get("country")));
+    }
+
+    @SuppressWarnings("unchecked")
+    @PostMapping(value = "/process", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<Map<String, Object>> process(@RequestPart("file") FilePart file,
+                                             @RequestPart(value = "targetCountry", required = false) String targetCountry,
+                                             @RequestPart(value = "generateHtml", required = false) String generateHtml) {
+        return readFully(file).flatMap(bytes -> latencyProfile.apply("process", () -> {
+            Map<String, Object> structured = (Map<String, Object>) fixtures.structure().get("data");
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("ocr", fixtures.ocr(file.filename(), "korean", bytes));
+            response.put("structuredData", structured);
+            response.put("translatedData", targetCountry != null
+                ? fixtures.translate(structured, targetCountry).get("translatedData") : null);
+            response.put("html", Boolean.parseBoolean(generateHtml) ? fixtures.html(targetCountry) : null);
+            return response;
+        }));
+    }
+
+    /**
+     * 실행 중 감속: POST /_stub/slowdown?factor=5&duration=30s
+     */
+    @PostMapping("/_stub/slowdown")
+    public Map<String, Object> slowDown(@RequestParam double factor, @RequestParam String duration) {
+        latencyProfile.slowDown(factor, DurationStyle.detectAndParse(duration));
+        return latencyProfile.getStats();
+    }
+
+    @GetMapping("/_stub/stats")
+    public Map<String, Object> stats() {
+        return latencyProfile.getStats();
+    }
+
+    /**
+     * 업로드 본문을 끝까지 읽고 버림 (실제 서버와 같은 업로드 비용)
+     */
+    private Mono<Long> readFully(FilePart file) {
+        return file.content()
+            .map(buffer -> {
+                long size = buffer.readableByteCount();
+                DataBufferUtils.release(buffer);
+                return size;
+            })
+            .reduce(0L, Long::sum);
+    }
+}
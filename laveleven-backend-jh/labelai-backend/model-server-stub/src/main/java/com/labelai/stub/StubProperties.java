@@ -0,0 +1,47 @@
+package com.labelai.stub;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 지연/오류/응답 크기 프로파일 (stub.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "stub")
+public class StubProperties {
+    private Long seed;                                   // 지정 시 난수 재현 가능
+
+    // 엔드포인트(ocr, structure, translate, generate-html, process)별 프로파일
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    private Slowdown slowdown = new Slowdown();
+    private int ocrLines = 40;                           // OCR 결과 줄 수
+    private int htmlSizeKb = 200;                        // 생성 HTML 크기
+
+    public Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, k -> new Endpoint());
+    }
+
+    @Getter @Setter
+    public static class Endpoint {
+        // 로그 정규 분포: median 과 p99 로 지정
+        private Duration median = Duration.ofMillis(500);
+        private Duration p99 = Duration.ofSeconds(3);
+        private double errorRate = 0.0;                  // 0.0 ~ 1.0, 실패 시 503
+    }
+
+    /**
+     * 주기적 감속: every 마다 duration 동안 지연 × factor
+     */
+    @Getter @Setter
+    public static class Slowdown {
+        private Duration every;                          // null 이면 주기적 감속 없음
+        private Duration duration = Duration.ofSeconds(10);
+        private double factor = 5.0;
+    }
+}
@@ -0,0 +1,149 @@
+package com.labelai.stub.bench;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 동시 OCR 요청 벤치마크: 동시 요청 수를 단계별로 늘리며 백엔드 /api/pipeline/ocr 에 한 번에 보내고
+ * 성공/거절/실패 수와 지연을 출력 (플랫폼 스레드 모드와 가상 스레드 모드를 같은 조건으로 비교)
+ * 옵션: --url --path --token(또는 LABELAI_TOKEN) --image --levels=50,100,200 --timeout=60s
+ */
+public final class OcrConcurrencyBench {
+
+    private OcrConcurrencyBench() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parse(args);
+        String path = options.getOrDefault("path", "/api/pipeline/ocr");
+        String token = options.getOrDefault("token", System.getenv("LABELAI_TOKEN"));
+        Path image = Path.of(required(options, "image"));
+        List<Integer> levels = Arrays.stream(options.getOrDefault("levels", "50,100,200,400,800").split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .toList();
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "60s"));
+
+        // 벤치마크 클라이언트가 병목이 되지 않도록 최대 단계만큼 연결 허용
+        ConnectionProvider provider = ConnectionProvider.builder("ocr-bench")
+            .maxConnections(Collections.max(levels))
+            .pendingAcquireMaxCount(-1)
+            .build();
+        WebClient.Builder builder = WebClient.builder()
+            .baseUrl(options.getOrDefault("url", "http://localhost:8081"))
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider).responseTimeout(timeout)));
+        if (token != null) {
+            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        WebClient client = builder.build();
+
+        byte[] bytes = Files.readAllBytes(image);
+        String contentType = Files.probeContentType(image);
+        Upload upload = new Upload(bytes, image.getFileName().toString(),
+            contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM);
+
+        System.out.printf("%8s %8s %9s %8s %9s %9s %9s%n",
+            "level", "ok", "rejected", "failed", "p50(ms)", "p99(ms)", "wall(ms)");
+        int maxClean = 0;
+        for (int level : levels) {
+            LevelResult result = runLevel(client, path, upload, level);
+            System.out.printf("%8d %8d %9d %8d %9d %9d %9d%n", level, result.ok(), result.rejected(), result.failed(),
+                result.p50Millis(), result.p99Millis(), result.wallMillis());
+            if (result.ok() == level) {
+                maxClean = level;
+            }
+            Thread.sleep(1000);
+        }
+        System.out.printf("오류 없이 처리한 최대 동시 OCR 요청 수: %d%n", maxClean);
+        provider.disposeLater().block();
+    }
+
+    private static LevelResult runLevel(WebClient client, String path, Upload upload, int level) {
+        long start = System.nanoTime();
+        List<Outcome> outcomes = Flux.range(0, level)
+            .flatMap(i -> send(client, path, upload), level)
+            .collectList()
+            .block();
+        long wallNanos = System.nanoTime() - start;
+
+        long[] latencies = outcomes.stream().mapToLong(Outcome::nanos).sorted().toArray();
+        int ok = (int) outcomes.stream().filter(o -> o.status() >= 200 && o.status() < 300).count();
+        int rejected = (int) outcomes.stream()
+            .filter(o -> o.status() == 429 || o.status() == 503 || o.status() == 504)
+            .count();
+        return new LevelResult(ok, rejected, level - ok - rejected,
+            percentile(latencies, 0.50), percentile(latencies, 0.99), wallNanos / 1_000_000);
+    }
+
+    // 상태 코드 -1 은 연결 실패 또는 응답 시간 초과
+    private static Mono<Outcome> send(WebClient client, String path, Upload upload) {
+        return Mono.defer(() -> {
+            MultipartBodyBuilder body = new MultipartBodyBuilder();
+            body.part("file", new ByteArrayResource(upload.bytes()))
+                .filename(upload.filename())
+                .contentType(upload.contentType());
+            body.part("useCache", "false");
+
+            long start = System.nanoTime();
+            return client.post()
+                .uri(path)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .onErrorReturn(-1)
+                .map(status -> new Outcome(status, System.nanoTime() - start));
+        });
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--key=value 형식이 아닙니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + key + " 옵션이 필요합니다");
+        }
+        return value;
+    }
+
+    private record Upload(byte[] bytes, String filename, MediaType contentType) { }
+
+    private record Outcome(int status, long nanos) { }
+
+    private record LevelResult(int ok, int rejected, int failed, long p50Millis, long p99Millis, long wallMillis) { }
+}
@@ -0,0 +1,135 @@
+package com.labelai.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.OcrCodec;
+import com.labelai.dto.OcrResponse;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * OCR 결과 저장 형식 비교: 기존 중첩 List 구조(JSON) vs OcrBoxes/float[] 구조(JSON, 바이너리)
+ * 항목별 평균 시간, 호출당 할당 바이트, 객체 보관 시 힙 사용량, 저장 크기를 출력
+ * 옵션: --lines=200 (OCR 줄 수) --iterations=2000 --retained=500 (보관 힙 측정용 객체 수)
+ */
+public final class OcrMetaBench {
+    private static final int WARMUP = 500;
+
+    private OcrMetaBench() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        int lines = Integer.parseInt(options.getOrDefault("lines", "200"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "2000"));
+        int retained = Integer.parseInt(options.getOrDefault("retained", "500"));
+
+        ObjectMapper mapper = new ObjectMapper();
+        String json = mapper.writeValueAsString(sampleOcr(lines));
+        LegacyOcr legacy = mapper.readValue(json, LegacyOcr.class);
+        OcrResponse packed = mapper.readValue(json, OcrResponse.class);
+        byte[] binary = OcrCodec.encode(packed);
+
+        System.out.printf("lines=%d, iterations=%d%n", lines, iterations);
+        System.out.printf("저장 크기: json=%d bytes, binary=%d bytes (base64 %d)%n",
+            json.getBytes(StandardCharsets.UTF_8).length, binary.length, (binary.length + 2) / 3 * 4);
+        System.out.printf("%-28s %12s %16s%n", "", "avg(us)", "alloc/op(bytes)");
+        measure("legacy json parse", iterations, () -> mapper.readValue(json, LegacyOcr.class));
+        measure("legacy json serialize", iterations, () -> mapper.writeValueAsString(legacy));
+        measure("packed json parse", iterations, () -> mapper.readValue(json, OcrResponse.class));
+        measure("packed json serialize", iterations, () -> mapper.writeValueAsString(packed));
+        measure("packed binary encode", iterations, () -> OcrCodec.encode(packed));
+        measure("packed binary decode", iterations, () -> OcrCodec.decode(binary));
+
+        System.out.printf("보관 힙 (객체 1개당): legacy=%d bytes, packed=%d bytes%n",
+            retainedBytes(retained, () -> mapper.readValue(json, LegacyOcr.class)),
+            retainedBytes(retained, () -> OcrCodec.decode(binary)));
+    }
+
+    private static void measure(String name, int iterations, Callable<Object> op) throws Exception {
+        for (int i = 0; i < WARMUP; i++) op.call();
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) op.call();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        System.out.printf("%-28s %12.1f %16d%n", name, elapsed / 1000.0 / iterations, allocated / iterations);
+    }
+
+    private static long retainedBytes(int count, Callable<Object> factory) throws Exception {
+        List<Object> hold = new ArrayList<>(count);
+        long before = usedHeap();
+        for (int i = 0; i < count; i++) hold.add(factory.call());
+        long after = usedHeap();
+        long perObject = (after - before) / count;
+        hold.clear();
+        return perObject;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // 모델 서버 응답과 같은 모양 (model-server-stub LabelFixtures 와 동일한 규칙)
+    private static Map<String, Object> sampleOcr(int lines) {
+        Random random = new Random(42);
+        List<String> texts = new ArrayList<>(lines);
+        List<List<List<Integer>>> boxes = new ArrayList<>(lines);
+        List<Double> confidences = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            texts.add("원재료명 및 함량 " + i);
+            int x = 40 + random.nextInt(20);
+            int y = 40 + i * 36;
+            int width = 400 + random.nextInt(600);
+            boxes.add(List.of(List.of(x, y), List.of(x + width, y), List.of(x + width, y + 30), List.of(x, y + 30)));
+            confidences.add(Math.round((0.85 + random.nextDouble() * 0.14) * 10000) / 10000.0);
+        }
+        Map<String, Object> rawData = new HashMap<>();
+        rawData.put("recTexts", texts);
+        rawData.put("boxes", boxes);
+        rawData.put("confidences", confidences);
+        rawData.put("averageConfidence", 0.92);
+        rawData.put("language", "korean");
+        rawData.put("totalLines", lines);
+
+        Map<String, Object> ocr = new HashMap<>();
+        ocr.put("filename", "label.jpg");
+        ocr.put("language", "korean");
+        ocr.put("texts", texts);
+        ocr.put("rawData", rawData);
+        return ocr;
+    }
+
+    // 변경 전 OcrResponse 구조
+    public static class LegacyOcr {
+        public String filename;
+        public String language;
+        public List<String> texts;
+        public LegacyRawData rawData;
+        public String imageHash;
+    }
+
+    public static class LegacyRawData {
+        public List<String> recTexts;
+        public List<List<List<Integer>>> boxes;
+        public List<Double> confidences;
+        public Double averageConfidence;
+        public String language;
+        public Integer totalLines;
+    }
+}
@@ -0,0 +1,97 @@
+package com.labelai.bench;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.util.StreamUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * OCR 요청 1건의 이미지 part 본문을 만들 때의 힙 할당량 비교
+ * - before: getBytes() 후 ByteArrayResource 로 인코딩 (변경 전 FoodLabelApiClient)
+ * - stream: MultipartFile 스트림을 boundedElastic 에서 풀링 DataBuffer 로 읽음
+ * - file: 스풀 파일을 AsynchronousFileChannel 로 풀링 DataBuffer 에 읽음
+ * 본문은 읽자마자 release (전송 비용 제외), 할당량은 살아 있는 모든 스레드의 합 (파일 채널/elastic 스레드 포함)
+ * 옵션: --size-mb=50 --iterations=20
+ */
+public final class UploadHeapBench {
+    private static final int WARMUP = 5;
+    private static final int UPLOAD_BUFFER_SIZE = 64 * 1024;
+    private static final DataBufferFactory POOLED = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private UploadHeapBench() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        int sizeMb = Integer.parseInt(options.getOrDefault("size-mb", "50"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "20"));
+
+        Path image = Files.createTempFile("upload-bench-", ".jpg");
+        try {
+            byte[] content = new byte[sizeMb * 1024 * 1024];
+            new Random(42).nextBytes(content);
+            Files.write(image, content);
+            content = null;
+
+            System.out.printf("image=%dMB, iterations=%d%n", sizeMb, iterations);
+            System.out.printf("%-10s %12s %20s%n", "", "avg(ms)", "heap alloc/op(bytes)");
+            measure("before", iterations, () -> {
+                try {
+                    byte[] bytes = Files.readAllBytes(image);
+                    return DataBufferUtils.read(new ByteArrayResource(bytes), POOLED, StreamUtils.BUFFER_SIZE);
+                } catch (Exception e) {
+                    return Flux.error(e);
+                }
+            });
+            measure("stream", iterations, () -> DataBufferUtils.readInputStream(
+                    () -> Files.newInputStream(image), POOLED, UPLOAD_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic()));
+            measure("file", iterations, () -> DataBufferUtils.read(
+                new FileSystemResource(image), POOLED, UPLOAD_BUFFER_SIZE));
+        } finally {
+            Files.deleteIfExists(image);
+        }
+    }
+
+    private static void measure(String name, int iterations, Supplier<Flux<DataBuffer>> body) {
+        for (int i = 0; i < WARMUP; i++) drain(body);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) drain(body);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("%-10s %12.1f %20d%n", name, elapsed / 1_000_000.0 / iterations, allocated / iterations);
+    }
+
+    private static void drain(Supplier<Flux<DataBuffer>> body) {
+        body.get().doOnNext(DataBufferUtils::release).blockLast();
+    }
+
+    private static long allocatedBytes() {
+        long total = 0;
+        for (long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+}
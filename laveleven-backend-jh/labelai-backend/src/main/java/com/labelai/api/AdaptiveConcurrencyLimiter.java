@@ -0,0 +1,124 @@
+package com.labelai.api;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 관측한 응답 시간과 오류율로 동시 호출 한도를 조정하는 리미터 (엔드포인트별 인스턴스)
+ * - 성공: gradient = (최소 RTT × 허용 배수) / 최근 RTT, 새 한도 = 한도 × gradient + √한도 (큐 여유분)
+ * - 실패(5xx/연결 오류/타임아웃): 한도 × backoffRatio 로 곱셈 감소
+ * - 한도의 절반도 쓰지 않는 구간의 표본은 한도를 늘리지 않음 (유휴 시 한도가 무한히 커지는 것 방지)
+ * 한도를 넘는 호출은 대기 없이 거절 (정적 bulkhead 와 동일)
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double RTT_SMOOTHING = 0.2;
+
+    private final String endpoint;
+    private final Settings settings;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private double limit;
+    private double shortRttNanos;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceMinRttReset;
+
+    public AdaptiveConcurrencyLimiter(String endpoint, Settings settings) {
+        this.endpoint = endpoint;
+        this.settings = settings;
+        this.limit = settings.initialLimit();
+    }
+
+    public <T> Mono<T> apply(Mono<T> call) {
+        return Mono.defer(() -> {
+            int limitNow = getLimit();
+            int inflightAtStart = inflight.incrementAndGet();
+            if (inflightAtStart > limitNow) {
+                inflight.decrementAndGet();
+                rejected.incrementAndGet();
+                return Mono.error(new ConcurrencyLimitExceededException(endpoint, limitNow));
+            }
+
+            // 취소되었거나 과부하와 무관한 오류(4xx, 서킷 OPEN 등)는 한도 조정 표본에서 제외
+            long start = System.nanoTime();
+            return call
+                .doOnSuccess(value -> onSuccess(System.nanoTime() - start, inflightAtStart))
+                .doOnError(e -> {
+                    if (isOverload(e)) onOverload();
+                })
+                .doFinally(signal -> inflight.decrementAndGet());
+        });
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public Map<String, Object> getStats() {
+        synchronized (this) {
+            return Map.of(
+                "limit", (int) limit,
+                "inflight", inflight.get(),
+                "minRttMs", minRttNanos == Long.MAX_VALUE ? 0 : minRttNanos / 1_000_000,
+                "recentRttMs", (long) shortRttNanos / 1_000_000,
+                "rejected", rejected.get(),
+                "dropped", dropped.get()
+            );
+        }
+    }
+
+    private synchronized void onOverload() {
+        dropped.incrementAndGet();
+        limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+    }
+
+    private synchronized void onSuccess(long rttNanos, int inflightAtStart) {
+        // 부하 상황이 바뀌었을 수 있으므로 주기적으로 최소 RTT 를 다시 측정
+        if (++samplesSinceMinRttReset > settings.minRttResetSamples()) {
+            minRttNanos = rttNanos;
+            samplesSinceMinRttReset = 0;
+        } else {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+        }
+        shortRttNanos = shortRttNanos == 0
+            ? rttNanos
+            : shortRttNanos * (1 - RTT_SMOOTHING) + rttNanos * RTT_SMOOTHING;
+
+        if (inflightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, settings.rttTolerance() * minRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = limit * (1 - settings.smoothing()) + newLimit * settings.smoothing();
+        limit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), limit));
+    }
+
+    private static boolean isOverload(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                           double smoothing, double rttTolerance, int minRttResetSamples) { }
+}
@@ -0,0 +1,10 @@
+package com.labelai.api;
+
+/**
+ * 적응형 동시성 한도 초과로 모델 서버 호출이 거절됨 (정적 bulkhead 의 BulkheadFullException 에 해당)
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String endpoint, int limit) {
+        super("모델 서버 동시 호출 한도 초과: endpoint=" + endpoint + ", limit=" + limit);
+    }
+}
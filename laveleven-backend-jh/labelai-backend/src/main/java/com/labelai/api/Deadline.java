@@ -0,0 +1,22 @@
+package com.labelai.api;
+
+import java.time.Duration;
+
+/**
+ * 요청 전체 처리 기한 (Reactor Context 로 전달, 키: Deadline.class)
+ * System.nanoTime 기준이므로 같은 JVM 안에서만 유효
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() >= expiresAtNanos;
+    }
+}
@@ -0,0 +1,11 @@
+package com.labelai.api;
+
+/**
+ * 요청 기한이 지나 모델 서버 호출을 시작하지 않았거나 중단함
+ * (과부하 신호가 아니므로 적응형 동시성 한도를 줄이지 않음)
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String endpoint) {
+        super("요청 처리 기한이 지났습니다: endpoint=" + endpoint);
+    }
+}
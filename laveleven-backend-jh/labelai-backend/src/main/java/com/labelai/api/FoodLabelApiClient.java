@@ -1,35 +1,118 @@
 package com.labelai.api;
 
 import com.labelai.dto.*;
-import io.github.resilience4j.bulkhead.Bulkhead;
+import com.labelai.metrics.PipelineMetrics;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.PooledByteBufAllocator;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class FoodLabelApiClient {
+    private static final int UPLOAD_BUFFER_SIZE = 64 * 1024;
+    private static final DataBufferFactory UPLOAD_BUFFER_FACTORY =
+        new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
     private final WebClient foodLabelWebClient;
     private final CircuitBreaker foodLabelCircuitBreaker;
     private final Retry foodLabelRetry;
-    private final Bulkhead foodLabelBulkhead;
+    private final ModelServerConcurrencyLimiters concurrencyLimiters;
+    private final RequestFingerprinter fingerprinter;
+    private final RequestHedger hedger;
+    private final PipelineMetrics metrics;
+    private final MeterRegistry meterRegistry;
+
+    // 진행 중인 동일 요청 (endpoint:요청해시 → 공유 Mono 와 그 호출의 기한)
+    private final Map<String, InflightCall> inflight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+    private final AtomicLong coalescingSkipped = new AtomicLong();
+
+    @Value("${pipeline.coalescing.enabled:true}")
+    private boolean coalescingEnabled;
+
+    @PostConstruct
+    void registerMeters() {
+        FunctionCounter.builder("labelai.model.coalescing", coalescedCalls, AtomicLong::get)
+            .description("진행 중인 동일 요청에 합류한 호출 수")
+            .tag("result", "coalesced")
+            .register(meterRegistry);
+        FunctionCounter.builder("labelai.model.coalescing", coalescingSkipped, AtomicLong::get)
+            .description("기한이 달라 합류하지 않고 따로 호출한 수")
+            .tag("result", "skipped")
+            .register(meterRegistry);
+        Gauge.builder("labelai.model.coalescing.inflight", inflight, Map::size)
+            .description("공유 중인 진행 호출 수")
+            .register(meterRegistry);
+    }
+
+    // ===== 동기 API (save* 경로 등 블로킹 호출용) =====
 
     public OcrResponse extractText(MultipartFile image) throws Exception {
+        return extractTextAsync(image).block();
+    }
+
+    public OcrResponse extractText(InputStreamSource image, String filename, String contentType) {
+        return extractTextAsync(image, filename, contentType).block();
+    }
+
+    public StructureResponse structureData(StructureRequest request) {
+        return structureDataAsync(request).block();
+    }
+
+    public TranslateResponse translate(TranslateRequest request) {
+        return translateAsync(request).block();
+    }
+
+    public String generateHtml(HtmlGenerateRequest request) {
+        return generateHtmlAsync(request).block();
+    }
+
+    public PipelineResponse processFullPipeline(PipelineRequest request) throws Exception {
+        return processFullPipelineAsync(request).block();
+    }
+
+    // ===== 논블로킹 API (Mono 반환, 스레드를 점유하지 않음) =====
+
+    public Mono<OcrResponse> extractTextAsync(MultipartFile image) throws Exception {
+        return extractTextAsync(image, image.getOriginalFilename(), image.getContentType());
+    }
+
+    public Mono<OcrResponse> extractTextAsync(InputStreamSource image, String filename, String contentType) {
         MultipartBodyBuilder builder = new MultipartBodyBuilder();
-        builder.part("file", new ByteArrayResource(image.getBytes()))
-            .filename(image.getOriginalFilename())
-            .contentType(MediaType.parseMediaType(image.getContentType()));
-        
-        return executeWithResilience(
+        addImagePart(builder, image, filename, contentType);
+
+        return metrics.timeModelCall("ocr", null, executeWithResilience("/ocr",
             () -> foodLabelWebClient.post()
                 .uri(uriBuilder -> uriBuilder
                     .path("/ocr")
@@ -39,72 +122,170 @@ public class FoodLabelApiClient {
                 .body(BodyInserters.fromMultipartData(builder.build()))
                 .retrieve()
                 .bodyToMono(OcrResponse.class)
-                .block()
-        );
+        ));
     }
 
-    public StructureResponse structureData(StructureRequest request) {
-        return executeWithResilience(
-            () -> foodLabelWebClient.post()
-                .uri("/structure")  // ✅ 경로 확인 완료
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(StructureResponse.class)
-                .block()
-        );
+    public Mono<StructureResponse> structureDataAsync(StructureRequest request) {
+        Mono<StructureResponse> call = coalesce("/structure", request, () -> hedger.hedge("/structure",
+            () -> executeWithResilience("/structure",
+                () -> foodLabelWebClient.post()
+                    .uri("/structure")  // ✅ 경로 확인 완료
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(StructureResponse.class))));
+        return metrics.timeModelCall("structure", null, call);
     }
 
-    public TranslateResponse translate(TranslateRequest request) {
-        return executeWithResilience(
-            () -> foodLabelWebClient.post()
-                .uri("/translate")  // ✅ 경로 확인 완료
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(TranslateResponse.class)
-                .block()
-        );
+    public Mono<TranslateResponse> translateAsync(TranslateRequest request) {
+        Mono<TranslateResponse> call = coalesce("/translate", request, () -> hedger.hedge("/translate",
+            () -> executeWithResilience("/translate",
+                () -> foodLabelWebClient.post()
+                    .uri("/translate")  // ✅ 경로 확인 완료
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(TranslateResponse.class))));
+        return metrics.timeModelCall("translate", request.getTargetCountry(), call);
     }
 
-    public String generateHtml(HtmlGenerateRequest request) {
-        return executeWithResilience(
-            () -> foodLabelWebClient.post()
-                .uri("/generate-html")  // ✅ 수정: /html → /generate_html
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block()
-        );
+    public Mono<String> generateHtmlAsync(HtmlGenerateRequest request) {
+        Mono<String> call = coalesce("/generate-html", request,
+            () -> executeWithResilience("/generate-html",
+                () -> foodLabelWebClient.post()
+                    .uri("/generate-html")  // ✅ 수정: /html → /generate_html
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(String.class)));
+        return metrics.timeModelCall("generate-html", request.getTargetCountry(), call);
     }
 
-    public PipelineResponse processFullPipeline(PipelineRequest request) throws Exception {
+    public Mono<PipelineResponse> processFullPipelineAsync(PipelineRequest request) throws Exception {
+        MultipartFile image = request.getImage();
+        return processFullPipelineAsync(image, image.getOriginalFilename(), image.getContentType(),
+            request.getTargetCountry(), request.getGenerateHtml());
+    }
+
+    public Mono<PipelineResponse> processFullPipelineAsync(InputStreamSource image, String filename, String contentType,
+                                                           String targetCountry, Boolean generateHtml) {
         MultipartBodyBuilder builder = new MultipartBodyBuilder();
-        builder.part("file", new ByteArrayResource(request.getImage().getBytes()))
-            .filename(request.getImage().getOriginalFilename());
-        
-        if (request.getTargetCountry() != null) {
-            builder.part("targetCountry", request.getTargetCountry());
+        addImagePart(builder, image, filename, contentType);
+
+        if (targetCountry != null) {
+            builder.part("targetCountry", targetCountry);
         }
-        builder.part("generateHtml", String.valueOf(request.getGenerateHtml()));
-        
-        return executeWithResilience(
+        builder.part("generateHtml", String.valueOf(generateHtml));
+
+        return metrics.timeModelCall("process", targetCountry, executeWithResilience("/process",
             () -> foodLabelWebClient.post()
                 .uri("/process")  // ✅ 수정: /pipeline/full → /process
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(BodyInserters.fromMultipartData(builder.build()))
                 .retrieve()
                 .bodyToMono(PipelineResponse.class)
-                .block()
+        ));
+    }
+
+    /**
+     * 업로드 파일을 힙에 복사하지 않고 풀링된 DataBuffer 단위로 스트리밍 (재시도 시 재구독되면 처음부터 다시 읽음)
+     * - 파일(작업 스풀, 배치 압축 해제 파일): AsynchronousFileChannel 로 읽음
+     * - MultipartFile 등 스트림만 있는 경우: 블로킹 read 가 요청 본문을 쓰는 이벤트 루프에서 실행되지 않도록 boundedElastic 에서 읽음
+     */
+    private void addImagePart(MultipartBodyBuilder builder, InputStreamSource image,
+                              String filename, String contentType) {
+        Flux<DataBuffer> content = image instanceof Resource resource && resource.isFile()
+            ? DataBufferUtils.read(resource, UPLOAD_BUFFER_FACTORY, UPLOAD_BUFFER_SIZE)
+            : DataBufferUtils.readInputStream(image::getInputStream, UPLOAD_BUFFER_FACTORY, UPLOAD_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        builder.asyncPart("file", content, DataBuffer.class)
+            .filename(filename)
+            .contentType(mediaType(contentType));
+    }
+
+    private MediaType mediaType(String contentType) {
+        return contentType != null
+            ? MediaType.parseMediaType(contentType)
+            : MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    public Map<String, Object> getCoalescingStats() {
+        return Map.of(
+            "enabled", coalescingEnabled,
+            "inflight", inflight.size(),
+            "coalescedCalls", coalescedCalls.get(),
+            "coalescingSkipped", coalescingSkipped.get()
         );
     }
 
-    private <T> T executeWithResilience(java.util.function.Supplier<T> supplier) {
-        return Bulkhead.decorateSupplier(foodLabelBulkhead,
-            Retry.decorateSupplier(foodLabelRetry,
-                CircuitBreaker.decorateSupplier(foodLabelCircuitBreaker, supplier)
-            )
-        ).get();
+    /**
+     * 동일 요청(endpoint + 정규화 요청 해시)이 이미 진행 중이면 새로 호출하지 않고 그 결과를 공유
+     * (공유된 호출은 bulkhead 허가를 추가로 소비하지 않음)
+     * 공유 호출은 먼저 온 요청의 Deadline 으로 끊기므로, 그보다 기한이 긴(또는 없는) 요청은 합류하지 않고 따로 호출하고
+     * 합류한 요청은 자기 기한으로 바깥에서 다시 끊음
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String endpoint, Object request, Supplier<Mono<T>> call) {
+        if (!coalescingEnabled) {
+            return call.get();
+        }
+        return Mono.deferContextual(context -> {
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            String key = endpoint + ":" + fingerprinter.fingerprint(request);
+            AtomicBoolean leader = new AtomicBoolean();
+            InflightCall shared = inflight.computeIfAbsent(key, k -> {
+                leader.set(true);
+                return new InflightCall(call.get()
+                    .doFinally(signal -> inflight.remove(k))
+                    .cache(), deadline);
+            });
+            if (leader.get()) {
+                return (Mono<T>) shared.call();
+            }
+            if (!shared.covers(deadline)) {
+                coalescingSkipped.incrementAndGet();
+                return call.get();
+            }
+            coalescedCalls.incrementAndGet();
+            log.debug("[COALESCED] endpoint={}", endpoint);
+            Mono<T> joined = (Mono<T>) shared.call();
+            return deadline != null
+                ? joined.timeout(deadline.remaining(), Mono.error(new DeadlineExceededException(endpoint)))
+                : joined;
+        });
+    }
+
+    /**
+     * 동시성 제한(Retry(CircuitBreaker(call))) 순서를 reactor 연산자로 적용
+     * 동시성 제한은 엔드포인트별 적응형 리미터 또는 정적 bulkhead (pipeline.concurrency.mode)
+     * 구독 Context 에 Deadline 이 있으면 시도와 재시도 대기를 포함한 전체를 남은 기한에서 끊고 (이후 재시도 없음),
+     * 이미 지났으면 호출하지 않음. 기한 초과는 서킷 브레이커 실패로 기록되지 않음 (취소로 처리)
+     * (재시도 시 supplier 를 다시 구독하므로 요청 본문은 재사용 가능해야 함)
+     */
+    private <T> Mono<T> executeWithResilience(String endpoint, Supplier<Mono<T>> supplier) {
+        return Mono.deferContextual(context -> {
+            Mono<T> resilient = Mono.defer(supplier)
+                .transformDeferred(CircuitBreakerOperator.of(foodLabelCircuitBreaker))
+                .transformDeferred(RetryOperator.of(foodLabelRetry));
+
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            if (deadline != null) {
+                if (deadline.isExpired()) {
+                    return Mono.error(new DeadlineExceededException(endpoint));
+                }
+                resilient = resilient.timeout(deadline.remaining(), Mono.error(new DeadlineExceededException(endpoint)));
+            }
+            return concurrencyLimiters.limit(endpoint, resilient);
+        });
+    }
+
+    /**
+     * 공유 중인 호출: 그 호출이 deadline 으로 끊기지 않는 요청만 합류 가능
+     */
+    private record InflightCall(Mono<?> call, Deadline deadline) {
+        boolean covers(Deadline other) {
+            if (deadline == null) return true;
+            return other != null && other.expiresAtNanos() - deadline.expiresAtNanos() <= 0;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package com.labelai.api;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 모델 서버 호출 동시성 제어
+ * - adaptive: 엔드포인트별 AdaptiveConcurrencyLimiter (OCR 과 번역처럼 비용이 다른 호출이 한도를 공유하지 않음)
+ * - static: 기존 foodLabelApi bulkhead 하나를 모든 엔드포인트가 공유
+ */
+@Component
+@Slf4j
+public class ModelServerConcurrencyLimiters {
+    public static final String MODE_ADAPTIVE = "adaptive";
+    public static final String MODE_STATIC = "static";
+
+    private final Bulkhead foodLabelBulkhead;
+    private final String mode;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter.Settings defaults;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ModelServerConcurrencyLimiters(Bulkhead foodLabelBulkhead,
+                                          @Value("${pipeline.concurrency.mode:adaptive}") String mode,
+                                          @Value("${pipeline.concurrency.initial-limit:8}") int initialLimit,
+                                          @Value("${pipeline.concurrency.min-limit:1}") int minLimit,
+                                          @Value("${pipeline.concurrency.max-limit:64}") int maxLimit,
+                                          @Value("${pipeline.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                          @Value("${pipeline.concurrency.smoothing:0.2}") double smoothing,
+                                          @Value("${pipeline.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+                                          @Value("${pipeline.concurrency.min-rtt-reset-samples:500}") int minRttResetSamples,
+                                          Environment environment,
+                                          MeterRegistry meterRegistry) {
+        this.foodLabelBulkhead = foodLabelBulkhead;
+        this.mode = mode;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaults = new AdaptiveConcurrencyLimiter.Settings(
+            initialLimit, minLimit, maxLimit, backoffRatio, smoothing, rttTolerance, minRttResetSamples);
+        log.info("모델 서버 동시성 제어: mode={}", mode);
+    }
+
+    public <T> Mono<T> limit(String endpoint, Mono<T> call) {
+        if (MODE_STATIC.equals(mode)) {
+            return call.transformDeferred(BulkheadOperator.of(foodLabelBulkhead));
+        }
+        return limiters.computeIfAbsent(endpoint, this::createLimiter).apply(call);
+    }
+
+    /**
+     * fan-out 동시성 상한 (static: bulkhead 한도, adaptive: 엔드포인트의 현재 한도)
+     * 이보다 많이 한꺼번에 보내면 즉시 거절되므로 여러 건을 병렬로 호출할 때 사용
+     */
+    public int maxConcurrency(String endpoint) {
+        if (MODE_STATIC.equals(mode)) {
+            return foodLabelBulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        }
+        return limiters.computeIfAbsent(endpoint, this::createLimiter).getLimit();
+    }
+
+    /**
+     * 엔드포인트별 현재 한도 (live gauge)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode);
+        if (MODE_STATIC.equals(mode)) {
+            Bulkhead.Metrics metrics = foodLabelBulkhead.getMetrics();
+            stats.put("bulkhead", Map.of(
+                "maxConcurrentCalls", metrics.getMaxAllowedConcurrentCalls(),
+                "availableConcurrentCalls", metrics.getAvailableConcurrentCalls()
+            ));
+        } else {
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            limiters.forEach((endpoint, limiter) -> endpoints.put(endpoint, limiter.getStats()));
+            stats.put("endpoints", endpoints);
+        }
+        return stats;
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(String endpoint) {
+        // 엔드포인트별 상한: pipeline.concurrency.max-limits.<ocr|structure|translate|generate-html|process>
+        int maxLimit = environment.getProperty("pipeline.concurrency.max-limits." + endpoint.substring(1),
+            Integer.class, defaults.maxLimit());
+        AdaptiveConcurrencyLimiter.Settings settings = new AdaptiveConcurrencyLimiter.Settings(
+            Math.min(defaults.initialLimit(), maxLimit), defaults.minLimit(), maxLimit,
+            defaults.backoffRatio(), defaults.smoothing(), defaults.rttTolerance(), defaults.minRttResetSamples());
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(endpoint, settings);
+        Gauge.builder("labelai.model.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("엔드포인트별 적응형 동시 호출 한도")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        Gauge.builder("labelai.model.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+            .description("엔드포인트별 진행 중인 호출 수")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        FunctionCounter.builder("labelai.model.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+            .description("한도 초과로 즉시 거절된 호출 수")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        FunctionCounter.builder("labelai.model.concurrency.backoffs", limiter, AdaptiveConcurrencyLimiter::getDropped)
+            .description("과부하 신호로 한도를 줄인 횟수")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        return limiter;
+    }
+}
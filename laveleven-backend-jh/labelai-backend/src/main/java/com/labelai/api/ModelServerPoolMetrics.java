@@ -0,0 +1,78 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * foodLabelWebClient 커넥션 풀 상태 (원격 주소별 active/idle/pending acquire)
+ * Reactor Netty 가 원격 주소마다 풀을 만들 때 등록됨 (Micrometer: labelai.model.pool.connections{state})
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelServerPoolMetrics implements ConnectionProvider.MeterRegistrar {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        String key = key(poolName, remoteAddress);
+        pools.put(key, metrics);
+
+        Tags tags = Tags.of("pool", poolName, "remote", String.valueOf(remoteAddress));
+        List<Meter> registered = new ArrayList<>();
+        registered.add(gauge(metrics, tags.and("state", "active"), ConnectionPoolMetrics::acquiredSize));
+        registered.add(gauge(metrics, tags.and("state", "idle"), ConnectionPoolMetrics::idleSize));
+        registered.add(gauge(metrics, tags.and("state", "pending_acquire"), ConnectionPoolMetrics::pendingAcquireSize));
+        registered.add(gauge(metrics, tags.and("state", "max"), ConnectionPoolMetrics::maxAllocatedSize));
+        meters.put(key, registered);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        String key = key(poolName, remoteAddress);
+        pools.remove(key);
+        List<Meter> registered = meters.remove(key);
+        if (registered != null) {
+            registered.forEach(meterRegistry::remove);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        pools.forEach((key, metrics) -> stats.put(key, Map.of(
+            "active", metrics.acquiredSize(),
+            "idle", metrics.idleSize(),
+            "allocated", metrics.allocatedSize(),
+            "pendingAcquire", metrics.pendingAcquireSize(),
+            "maxConnections", metrics.maxAllocatedSize(),
+            "maxPendingAcquire", metrics.maxPendingAcquireSize()
+        )));
+        return stats;
+    }
+
+    private Meter gauge(ConnectionPoolMetrics metrics, Tags tags, ToDoubleFunction<ConnectionPoolMetrics> value) {
+        return Gauge.builder("labelai.model.pool.connections", metrics, value)
+            .description("모델 서버 커넥션 풀 연결 수")
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private static String key(String poolName, SocketAddress remoteAddress) {
+        return poolName + ":" + remoteAddress;
+    }
+}
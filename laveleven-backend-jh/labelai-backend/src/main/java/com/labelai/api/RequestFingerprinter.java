@@ -0,0 +1,33 @@
+package com.labelai.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 요청 객체의 정규화 JSON(Map 키 정렬) SHA-256 값
+ * Map 키 순서와 무관하게 같은 내용이면 같은 값이 나옴
+ */
+@Component
+public class RequestFingerprinter {
+    private final ObjectMapper canonicalMapper;
+
+    public RequestFingerprinter(ObjectMapper objectMapper) {
+        this.canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    public String fingerprint(Object value) {
+        try {
+            byte[] json = canonicalMapper.writeValueAsBytes(value);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("요청 해시 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 꼬리 지연 완화용 요청 헤징
+ * 최근 응답 시간의 percentile 까지 응답이 없으면 같은 요청을 한 번 더 보내고 먼저 끝난 쪽을 사용 (나머지는 취소)
+ * 헤지 예산: 원 요청 1건마다 budget 만큼 토큰이 쌓이고 헤지 1건에 토큰 1개를 소비
+ * → 추가 부하는 원 요청의 budget 비율을 넘지 않음
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+    private static final int WINDOW_SIZE = 1000;
+    private static final int RECOMPUTE_EVERY = 50;
+    private static final double MAX_TOKENS = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final double budget;
+    private final int minSamples;
+    private final Duration minDelay;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointState> endpoints = new ConcurrentHashMap<>();
+
+    public RequestHedger(@Value("${pipeline.hedging.enabled:false}") boolean enabled,
+                         @Value("${pipeline.hedging.percentile:0.95}") double percentile,
+                         @Value("${pipeline.hedging.budget:0.1}") double budget,
+                         @Value("${pipeline.hedging.min-samples:20}") int minSamples,
+                         @Value("${pipeline.hedging.min-delay:50ms}") Duration minDelay,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.budget = budget;
+        this.minSamples = minSamples;
+        this.minDelay = minDelay;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * call 은 구독할 때마다 독립적인 요청을 보내야 함 (헤지 요청도 동시성 제한/재시도를 그대로 거침)
+     * 헤지 요청의 오류는 무시하고 원 요청의 결과를 기다림 (헤징은 지연만 줄이고 실패를 가리지 않음)
+     */
+    public <T> Mono<T> hedge(String endpoint, Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+        EndpointState state = endpoints.computeIfAbsent(endpoint, this::createState);
+        return Mono.defer(() -> {
+            state.addToken(budget);
+            long start = System.nanoTime();
+            Mono<T> primary = Mono.defer(call);
+
+            Duration delay = state.hedgeDelay();
+            if (delay == null) {
+                return primary.doOnSuccess(value -> state.record(System.nanoTime() - start));
+            }
+
+            Mono<T> backup = Mono.delay(delay)
+                .then(Mono.defer(() -> {
+                    if (!state.tryTakeToken()) {
+                        state.denied.incrementAndGet();
+                        return Mono.<T>never();
+                    }
+                    state.hedged.incrementAndGet();
+                    log.debug("[HEDGE] endpoint={}, delay={}ms", endpoint, delay.toMillis());
+                    return Mono.defer(call)
+                        .doOnSuccess(value -> state.hedgeWins.incrementAndGet())
+                        .onErrorResume(e -> Mono.never());
+                }));
+
+            return Mono.firstWithSignal(primary, backup)
+                .doOnSuccess(value -> state.record(System.nanoTime() - start));
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("percentile", percentile);
+        stats.put("budget", budget);
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, state) -> byEndpoint.put(endpoint, state.getStats()));
+        stats.put("endpoints", byEndpoint);
+        return stats;
+    }
+
+    private EndpointState createState(String endpoint) {
+        EndpointState state = new EndpointState();
+        hedgeCounter(endpoint, "hedged", state.hedged);
+        hedgeCounter(endpoint, "won", state.hedgeWins);
+        hedgeCounter(endpoint, "budget_denied", state.denied);
+        Gauge.builder("labelai.model.hedging.delay", state, EndpointState::delaySeconds)
+            .description("엔드포인트별 현재 헤지 지연 (표본이 부족하면 NaN)")
+            .tag("endpoint", endpoint)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        return state;
+    }
+
+    private void hedgeCounter(String endpoint, String result, AtomicLong count) {
+        FunctionCounter.builder("labelai.model.hedging", count, AtomicLong::get)
+            .description("엔드포인트별 헤지 요청 수 (hedged: 전송, won: 먼저 끝남, budget_denied: 예산 부족)")
+            .tag("endpoint", endpoint)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private class EndpointState {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+        private int sinceRecompute;
+        private long delayNanos = -1;
+        private double tokens;
+
+        private final AtomicLong hedged = new AtomicLong();
+        private final AtomicLong hedgeWins = new AtomicLong();
+        private final AtomicLong denied = new AtomicLong();
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+            if (count >= minSamples && (delayNanos < 0 || ++sinceRecompute >= RECOMPUTE_EVERY)) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+                delayNanos = Math.max(minDelay.toNanos(), sorted[Math.max(0, index)]);
+                sinceRecompute = 0;
+            }
+        }
+
+        synchronized Duration hedgeDelay() {
+            return delayNanos < 0 ? null : Duration.ofNanos(delayNanos);
+        }
+
+        synchronized double delaySeconds() {
+            return delayNanos < 0 ? Double.NaN : delayNanos / 1e9;
+        }
+
+        synchronized void addToken(double amount) {
+            tokens = Math.min(MAX_TOKENS, tokens + amount);
+        }
+
+        synchronized boolean tryTakeToken() {
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized Map<String, Object> getStats() {
+            return Map.of(
+                "samples", count,
+                "hedgeDelayMs", delayNanos < 0 ? -1 : delayNanos / 1_000_000,
+                "hedged", hedged.get(),
+                "hedgeWins", hedgeWins.get(),
+                "budgetDenied", denied.get()
+            );
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.labelai.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 모델 서버(foodLabelApi) 클라이언트 설정 (foodlabel.api.*)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "foodlabel.api")
+public class FoodLabelApiProperties {
+    private String baseUrl;
+
+    // HTTP11, H2 (TLS + ALPN), H2C (평문 HTTP/2)
+    private List<String> protocols = List.of("HTTP11");
+    private boolean compression = true;
+    private boolean keepAlive = true;
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration responseTimeout = Duration.ofSeconds(120);
+    private Duration readTimeout = Duration.ofSeconds(120);
+    private Duration writeTimeout = Duration.ofSeconds(60);
+
+    private Pool pool = new Pool();
+
+    @Getter @Setter
+    public static class Pool {
+        private int maxConnections = 64;
+        private int pendingAcquireMaxCount = 256;        // -1: 무제한
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+        private Duration maxIdleTime = Duration.ofSeconds(30); // 모델 서버/프록시 idle timeout 보다 짧게
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+    }
+}
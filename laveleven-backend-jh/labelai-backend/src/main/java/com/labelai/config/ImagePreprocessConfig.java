@@ -0,0 +1,29 @@
+package com.labelai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImagePreprocessConfig {
+    @Value("${pipeline.preprocess.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int poolSize;
+
+    @Value("${pipeline.preprocess.queue-capacity:100}")
+    private int queueCapacity;
+
+    /**
+     * 이미지 디코딩/리사이즈/인코딩 전용 CPU 풀 (요청 스레드, Netty 이벤트 루프와 분리)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imagePreprocessExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-preprocess-");
+        executor.initialize();
+        return executor;
+    }
+}
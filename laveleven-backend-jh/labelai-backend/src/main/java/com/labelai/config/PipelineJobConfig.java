@@ -0,0 +1,36 @@
+package com.labelai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PipelineJobConfig {
+    @Value("${pipeline.job.pool-size:4}")
+    private int poolSize;
+
+    @Value("${pipeline.job.queue-capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * 파이프라인 작업 전용 워커 풀 (크기/대기열 모두 고정)
+     * 가상 스레드 모드(spring.threads.virtual.enabled)에서는 워커를 가상 스레드로 생성 (동시 작업 수 한도는 동일)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor pipelineJobExecutor(Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pipeline-job-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("pipeline-job-").getVirtualThreadFactory());
+        }
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,24 +1,82 @@
 package com.labelai.config;
 
+import com.labelai.api.ModelServerPoolMetrics;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
-import org.springframework.beans.factory.annotation.Value;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@Slf4j
+@EnableConfigurationProperties(FoodLabelApiProperties.class)
 public class WebClientConfig {
-    @Value("${foodlabel.api.base-url}")
-    private String baseUrl;
+    private static final String READ_TIMEOUT = "labelai.readTimeout";
+    private static final String WRITE_TIMEOUT = "labelai.writeTimeout";
+
+    /**
+     * 모델 서버 전용 커넥션 풀 (다른 WebClient 와 공유하지 않음)
+     * 최대 연결 수는 동시 호출 한도(bulkhead / pipeline.concurrency.max-limit) 이상으로 설정해야 풀 대기가 생기지 않음
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider foodLabelConnectionProvider(FoodLabelApiProperties properties,
+                                                          ModelServerPoolMetrics poolMetrics,
+                                                          Bulkhead foodLabelBulkhead) {
+        FoodLabelApiProperties.Pool pool = properties.getPool();
+        int maxConcurrentCalls = foodLabelBulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        if (pool.getMaxConnections() < maxConcurrentCalls) {
+            log.warn("foodlabel.api.pool.max-connections({}) 가 bulkhead 동시 호출 한도({}) 보다 작습니다",
+                pool.getMaxConnections(), maxConcurrentCalls);
+        }
+        return ConnectionProvider.builder("foodLabelApi")
+            .maxConnections(pool.getMaxConnections())
+            .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+            .maxIdleTime(pool.getMaxIdleTime())
+            .maxLifeTime(pool.getMaxLifeTime())
+            .evictInBackground(pool.getEvictInBackground())
+            .metrics(true, () -> poolMetrics)
+            .build();
+    }
 
     @Bean
-    public WebClient foodLabelWebClient() {
-        return WebClient.builder().baseUrl(baseUrl).build();
+    public WebClient foodLabelWebClient(FoodLabelApiProperties properties, ConnectionProvider foodLabelConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(foodLabelConnectionProvider)
+            .protocol(properties.getProtocols().stream()
+                .map(HttpProtocol::valueOf)
+                .toArray(HttpProtocol[]::new))
+            .compress(properties.isCompression())
+            .keepAlive(properties.isKeepAlive())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+            .responseTimeout(properties.getResponseTimeout())
+            // 읽기/쓰기 타임아웃은 요청 중에만 둠 (풀에서 쉬는 연결은 maxIdleTime 으로만 정리)
+            .doOnRequest((request, connection) -> connection
+                .addHandlerLast(READ_TIMEOUT, new ReadTimeoutHandler(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .addHandlerLast(WRITE_TIMEOUT, new WriteTimeoutHandler(properties.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)))
+            .doAfterRequest((request, connection) -> connection.removeHandler(WRITE_TIMEOUT))
+            .doAfterResponseSuccess((response, connection) -> connection
+                .removeHandler(READ_TIMEOUT)
+                .removeHandler(WRITE_TIMEOUT));
+
+        return WebClient.builder()
+            .baseUrl(properties.getBaseUrl())
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
     }
 
     @Bean
@@ -35,4 +93,4 @@ public class WebClientConfig {
     public Bulkhead foodLabelBulkhead(BulkheadRegistry registry) {
         return registry.bulkhead("foodLabelApi");
     }
-}
\ No newline at end of file
+}
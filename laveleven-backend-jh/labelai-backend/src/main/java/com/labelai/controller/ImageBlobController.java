@@ -0,0 +1,108 @@
+package com.labelai.controller;
+
+import com.labelai.dto.StoredBlob;
+import com.labelai.service.ImageBlobStore;
+import com.labelai.service.PipelineService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 라벨 이미지 저장소 - 업로드 결과의 url 을 /save/scan 의 imageUrl 로 그대로 사용
+ */
+@RestController
+@RequestMapping("/api/pipeline/blobs")
+@RequiredArgsConstructor
+@Slf4j
+public class ImageBlobController {
+    private static final String IMMUTABLE = "private, max-age=31536000, immutable";
+
+    private final ImageBlobStore imageBlobStore;
+    private final PipelineService pipelineService;
+
+    @PostMapping
+    public ResponseEntity<?> upload(@RequestParam("file") MultipartFile file) {
+        try {
+            StoredBlob blob = imageBlobStore.store(file);
+            log.info("[BLOB_UPLOADED] hash={}, size={}, deduplicated={}", blob.hash(), blob.size(), blob.deduplicated());
+            return ResponseEntity.ok(blob);
+        } catch (Exception e) {
+            log.error("[BLOB_UPLOAD_FAILED] filename={}, error={}", file.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 내용 해시가 이름이므로 ETag 도 해시, 한 구간 Range 요청은 206 으로 응답 (여러 구간이면 전체 200)
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<?> download(@PathVariable String hash,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) throws Exception {
+        Optional<Path> found = imageBlobStore.find(hash);
+        if (found.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "이미지를 찾을 수 없습니다"));
+        }
+        Path path = found.get();
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + hash + "\"")) {
+            return null;
+        }
+
+        long length = Files.size(path);
+        long start = 0;
+        long count = length;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    count = ranges.get(0).getRangeEnd(length) - start + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + start + "-" + (start + count - 1) + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return ResponseEntity.status(416).body(Map.of("error", "요청 범위가 잘못되었습니다"));
+            }
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setContentType(imageBlobStore.contentType(path));
+        response.setContentLengthLong(count);
+        imageBlobStore.send(path, start, count, request, response);
+        return null;
+    }
+
+    /**
+     * scan 에서 참조하지 않는 blob 삭제 (백그라운드 실행)
+     */
+    @PostMapping("/gc")
+    public ResponseEntity<?> startGc() {
+        try {
+            Map<String, Object> stats = pipelineService.startBlobGc();
+            log.info("[BLOB_GC_STARTED]");
+            return ResponseEntity.accepted().body(stats);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
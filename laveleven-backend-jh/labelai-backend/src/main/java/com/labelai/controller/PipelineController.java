@@ -1,13 +1,25 @@
 package com.labelai.controller;
 
+import com.labelai.api.DeadlineExceededException;
 import com.labelai.dto.*;
+import com.labelai.service.OcrBatchService;
+import com.labelai.service.PipelineJobEvents;
+import com.labelai.service.PipelineJobService;
 import com.labelai.service.PipelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,61 +28,123 @@ import java.util.Map;
 @Slf4j
 public class PipelineController {
     private final PipelineService pipelineService;
+    private final OcrBatchService ocrBatchService;
+    private final PipelineJobService pipelineJobService;
 
     @PostMapping("/ocr")
-    public ResponseEntity<?> processOcr(@RequestParam("file") MultipartFile file) {
+    public Mono<ResponseEntity<?>> processOcr(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "useCache", required = false, defaultValue = "true") Boolean useCache) {
         try {
-            log.info("[OCR_START] filename={}, size={}", file.getOriginalFilename(), file.getSize());
-            OcrResponse result = pipelineService.processOcr(file);
-            log.info("[OCR_SUCCESS] confidence={}", result.getConfidence());
-            return ResponseEntity.ok(result);
+            log.info("[OCR_START] filename={}, size={}, useCache={}", file.getOriginalFilename(), file.getSize(), useCache);
+            return pipelineService.processOcrAsync(file, useCache)
+                .doOnNext(result -> log.info("[OCR_SUCCESS] confidence={}", result.getConfidence()))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("[OCR_FAILED] filename={}, error={}", file.getOriginalFilename(), e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
         } catch (Exception e) {
             log.error("[OCR_FAILED] filename={}, error={}", file.getOriginalFilename(), e.getMessage());
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
         }
     }
 
-    @PostMapping("/structure")
-    public ResponseEntity<?> processStructure(@RequestBody StructureRequest request) {
+    /**
+     * 다건 OCR (여러 파일 또는 zip) - 완료되는 순서대로 NDJSON 한 줄씩 전송
+     */
+    @PostMapping(value = "/ocr/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OcrBatchResult> processOcrBatch(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "useCache", required = false, defaultValue = "true") Boolean useCache) {
         try {
-            log.info("[STRUCTURE_START] language={}", request.getLanguage());
-            StructureResponse result = pipelineService.processStructure(request);
-            log.info("[STRUCTURE_SUCCESS]");
-            return ResponseEntity.ok(result);
+            log.info("[OCR_BATCH_REQUEST] files={}", files.size());
+            return ocrBatchService.processBatch(files, useCache);
         } catch (Exception e) {
-            log.error("[STRUCTURE_FAILED] error={}", e.getMessage());
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            log.error("[OCR_BATCH_FAILED] error={}", e.getMessage());
+            return Flux.just(OcrBatchResult.builder().error(e.getMessage()).build());
         }
     }
 
+    @PostMapping("/structure")
+    public Mono<ResponseEntity<?>> processStructure(@RequestBody StructureRequest request) {
+        log.info("[STRUCTURE_START] language={}", request.getLanguage());
+        return pipelineService.processStructureAsync(request)
+            .doOnNext(result -> log.info("[STRUCTURE_SUCCESS]"))
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> {
+                log.error("[STRUCTURE_FAILED] error={}", e.getMessage());
+                return Mono.just(errorResponse(e));
+            });
+    }
+
     @PostMapping("/translate")
-    public ResponseEntity<?> processTranslate(@RequestBody TranslateRequest request) {
+    public Mono<ResponseEntity<?>> processTranslate(@RequestBody TranslateRequest request) {
+        log.info("[TRANSLATE_START] targetCountry={}", request.getTargetCountry());
+        return pipelineService.processTranslateAsync(request)
+            .doOnNext(result -> log.info("[TRANSLATE_SUCCESS]"))
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> {
+                log.error("[TRANSLATE_FAILED] error={}", e.getMessage());
+                return Mono.just(errorResponse(e));
+            });
+    }
+
+    @DeleteMapping("/translate/cache")
+    public ResponseEntity<?> invalidateTranslateCache(@RequestParam(required = false) String modelVersion) {
         try {
-            log.info("[TRANSLATE_START] targetCountry={}", request.getTargetCountry());
-            TranslateResponse result = pipelineService.processTranslate(request);
-            log.info("[TRANSLATE_SUCCESS]");
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            log.error("[TRANSLATE_FAILED] error={}", e.getMessage());
+            int deleted = pipelineService.invalidateTranslateCache(modelVersion);
+            log.info("[TRANSLATE_CACHE_INVALIDATED] modelVersion={}, deleted={}", modelVersion, deleted);
+            return ResponseEntity.ok(Map.of("success", true, "deleted", deleted));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
-    @PostMapping("/html")
-    public ResponseEntity<?> processHtml(@RequestBody HtmlGenerateRequest request) {
+    /**
+     * 압축 이전에 저장된 scan / schema_data / translate / sketch 행을 압축 형식으로 변환 (백그라운드 실행)
+     */
+    @PostMapping("/compression/backfill")
+    public ResponseEntity<?> startCompressionBackfill() {
         try {
-            log.info("[HTML_GEN_START] country={}", request.getCountry());
-            String html = pipelineService.processHtml(request);
-            log.info("[HTML_GEN_SUCCESS]");
-            return ResponseEntity.ok(Map.of("html", html));
-        } catch (Exception e) {
-            log.error("[HTML_GEN_FAILED] error={}", e.getMessage());
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            Map<String, Object> stats = pipelineService.startCompressionBackfill();
+            log.info("[COMPRESSION_BACKFILL_STARTED]");
+            return ResponseEntity.accepted().body(stats);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * history 의 실제 schema / translate 저장 이력을 delta 정책으로 재생해 절감 용량 보고
+     */
+    @GetMapping("/delta/report")
+    public ResponseEntity<?> getDeltaReport(@RequestParam(defaultValue = "100") int items) {
+        try {
+            return ResponseEntity.ok(pipelineService.replayDeltaHistory(items));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
         }
     }
 
+    @PostMapping("/html")
+    public Mono<ResponseEntity<?>> processHtml(@RequestBody HtmlGenerateRequest request) {
+        log.info("[HTML_GEN_START] country={}", request.getCountry());
+        return pipelineService.processHtmlAsync(request)
+            .doOnNext(html -> log.info("[HTML_GEN_SUCCESS]"))
+            .<ResponseEntity<?>>map(html -> ResponseEntity.ok(Map.of("html", html)))
+            .onErrorResume(e -> {
+                log.error("[HTML_GEN_FAILED] error={}", e.getMessage());
+                return Mono.just(errorResponse(e));
+            });
+    }
+
     @PostMapping("/full")
-    public ResponseEntity<?> processFullPipeline(
+    public Mono<ResponseEntity<?>> processFullPipeline(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "targetCountry", required = false) String targetCountry,
             @RequestParam(value = "generateHtml", required = false, defaultValue = "false") Boolean generateHtml) {
@@ -84,15 +158,126 @@ public class PipelineController {
                 .generateHtml(generateHtml)
                 .build();
             
-            PipelineResponse result = pipelineService.processFullPipeline(request);
-            log.info("[PIPELINE_SUCCESS]");
-            return ResponseEntity.ok(result);
+            return pipelineService.processFullPipelineAsync(request)
+                .doOnNext(result -> log.info("[PIPELINE_SUCCESS]"))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("[PIPELINE_FAILED] filename={}, error={}", file.getOriginalFilename(), e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
         } catch (Exception e) {
             log.error("[PIPELINE_FAILED] filename={}, error={}", file.getOriginalFilename(), e.getMessage());
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
+        }
+    }
+
+    /**
+     * 다국가 라벨 생성: OCR/구조화 1회 + 국가별 번역/HTML 병렬 실행, 국가별 Translate/Sketch 저장
+     */
+    @PostMapping("/full/multi")
+    public Mono<ResponseEntity<?>> processMultiCountry(
+            @RequestParam String itemId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("targetCountries") List<String> targetCountries,
+            @RequestParam(value = "generateHtml", required = false, defaultValue = "false") Boolean generateHtml) {
+        try {
+            log.info("[MULTI_COUNTRY_START] itemId={}, filename={}, targetCountries={}",
+                itemId, file.getOriginalFilename(), targetCountries);
+            return pipelineService.processMultiCountryAsync(itemId, file, targetCountries, generateHtml)
+                .doOnNext(result -> log.info("[MULTI_COUNTRY_SUCCESS] itemId={}", itemId))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("[MULTI_COUNTRY_FAILED] itemId={}, error={}", itemId, e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
+        } catch (AccessDeniedException e) {
+            log.warn("[ACCESS_DENIED] itemId={}, reason={}", itemId, e.getMessage());
+            return Mono.just(ResponseEntity.status(403).body(Map.of("error", e.getMessage())));
+        } catch (Exception e) {
+            log.error("[MULTI_COUNTRY_FAILED] itemId={}, error={}", itemId, e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
         }
     }
 
+    /**
+     * 저장된 단계 결과를 재사용하는 재실행 (입력이 바뀐 첫 단계부터 모델 호출)
+     */
+    @PostMapping("/rerun")
+    public Mono<ResponseEntity<?>> rerunPipeline(
+            @RequestParam String itemId,
+            @RequestBody PipelineRerunRequest request) {
+        try {
+            log.info("[RERUN_START] itemId={}, targetCountry={}, edited={}",
+                itemId, request.getTargetCountry(), request.getStructuredData() != null);
+            return pipelineService.rerunAsync(itemId, request)
+                .doOnNext(result -> log.info("[RERUN_SUCCESS] itemId={}, stages={}", itemId, result.getStages()))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("[RERUN_FAILED] itemId={}, error={}", itemId, e.getMessage());
+                    return Mono.just(errorResponse(e));
+                });
+        } catch (AccessDeniedException e) {
+            log.warn("[ACCESS_DENIED] itemId={}, reason={}", itemId, e.getMessage());
+            return Mono.just(ResponseEntity.status(403).body(Map.of("error", e.getMessage())));
+        } catch (Exception e) {
+            log.error("[RERUN_FAILED] itemId={}, error={}", itemId, e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
+        }
+    }
+
+    /**
+     * 단계별 진행 스트림 (SSE): 작업을 등록하고 OCR → 구조화 → 번역 → HTML 결과를 완료되는 대로 전송
+     * 이벤트: ocr, structure, translate, html, done | error (id 는 단계명)
+     */
+    @PostMapping(value = "/full/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> streamFullPipeline(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "targetCountry", required = false) String targetCountry,
+            @RequestParam(value = "generateHtml", required = false, defaultValue = "false") Boolean generateHtml) {
+        try {
+            PipelineJobDTO job = pipelineJobService.submit(file, targetCountry, generateHtml);
+            log.info("[PIPELINE_STREAM_START] jobId={}, filename={}", job.getJobId(), file.getOriginalFilename());
+            return ResponseEntity.ok()
+                .header("X-Pipeline-Job-Id", job.getJobId())
+                .body(pipelineJobService.stream(job.getJobId()));
+        } catch (TaskRejectedException e) {
+            log.warn("[PIPELINE_STREAM_REJECTED] filename={}", file.getOriginalFilename());
+            return ResponseEntity.status(503).body(errorEvent("작업 대기열이 가득 찼습니다"));
+        } catch (Exception e) {
+            log.error("[PIPELINE_STREAM_FAILED] filename={}, error={}", file.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().body(errorEvent(e.getMessage()));
+        }
+    }
+
+    /**
+     * 진행 스트림 재연결 (EventSource 용): 저장된 단계는 즉시 재전송, 모델 호출은 반복하지 않음
+     */
+    @GetMapping(value = "/full/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> resumeFullPipelineStream(@RequestParam String jobId) {
+        try {
+            return ResponseEntity.ok(pipelineJobService.stream(jobId));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(errorEvent(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(errorEvent(e.getMessage()));
+        }
+    }
+
+    /**
+     * 요청 기한 초과는 504, 그 외 모델 호출 실패는 400
+     */
+    private ResponseEntity<?> errorResponse(Throwable e) {
+        if (e instanceof DeadlineExceededException) {
+            return ResponseEntity.status(504).body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    private Flux<ServerSentEvent<Object>> errorEvent(String message) {
+        return Flux.just(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_ERROR,
+            Map.of("error", message != null ? message : "알 수 없는 오류")));
+    }
+
     @PostMapping("/save/scan")
     public ResponseEntity<?> saveScan(
             @RequestParam String itemId,
@@ -162,6 +347,26 @@ public class PipelineController {
         }
     }
 
+    /**
+     * scan / schema / translate / sketch 일괄 저장 (한 트랜잭션, 값이 있는 단계만)
+     */
+    @PostMapping("/save/all")
+    public ResponseEntity<?> saveAll(
+            @RequestParam String itemId,
+            @RequestBody PipelineSaveAllRequest request) {
+        try {
+            List<String> saved = pipelineService.saveAll(itemId, request);
+            log.info("[ALL_SAVED] itemId={}, saved={}", itemId, saved);
+            return ResponseEntity.ok(Map.of("success", true, "saved", saved));
+        } catch (AccessDeniedException e) {
+            log.warn("[ACCESS_DENIED] itemId={}, reason={}", itemId, e.getMessage());
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("[ALL_SAVE_FAILED] itemId={}, error={}", itemId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/get/scan/{itemId}")
     public ResponseEntity<?> getScan(@PathVariable String itemId) {
         try {
@@ -175,10 +380,12 @@ public class PipelineController {
     }
 
     @GetMapping("/get/schema/{itemId}")
-    public ResponseEntity<?> getSchema(@PathVariable String itemId) {
+    public ResponseEntity<?> getSchema(
+            @PathVariable String itemId,
+            @RequestParam(required = false) Integer version,
+            WebRequest webRequest) {
         try {
-            Map<String, Object> data = pipelineService.getSchemaData(itemId);
-            return ResponseEntity.ok(data);
+            return artifactResponse(pipelineService.getSchemaArtifact(itemId, version), webRequest);
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -187,10 +394,13 @@ public class PipelineController {
     }
 
     @GetMapping("/get/translate/{itemId}")
-    public ResponseEntity<?> getTranslate(@PathVariable String itemId) {
+    public ResponseEntity<?> getTranslate(
+            @PathVariable String itemId,
+            @RequestParam(required = false) String targetCountry,
+            @RequestParam(required = false) Integer version,
+            WebRequest webRequest) {
         try {
-            Map<String, Object> data = pipelineService.getTranslateData(itemId);
-            return ResponseEntity.ok(data);
+            return artifactResponse(pipelineService.getTranslateArtifact(itemId, targetCountry, version), webRequest);
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -199,14 +409,43 @@ public class PipelineController {
     }
 
     @GetMapping("/get/sketch/{itemId}")
-    public ResponseEntity<?> getSketch(@PathVariable String itemId) {
+    public ResponseEntity<?> getSketch(
+            @PathVariable String itemId,
+            @RequestParam(required = false) String targetCountry,
+            @RequestParam(required = false) Integer version,
+            WebRequest webRequest) {
         try {
-            String html = pipelineService.getSketchData(itemId);
-            return ResponseEntity.ok(Map.of("html", html));
+            return artifactResponse(pipelineService.getSketchArtifact(itemId, targetCountry, version), webRequest);
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    @GetMapping("/get/versions/{itemId}")
+    public ResponseEntity<?> getVersions(@PathVariable String itemId) {
+        try {
+            return ResponseEntity.ok(pipelineService.getArtifactVersions(itemId));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * If-None-Match 가 현재 ETag 와 같으면 본문을 읽지 않고 304 (checkNotModified 가 상태/ETag 헤더를 설정)
+     * 아니면 저장된 원문을 파싱 없이 그대로 응답
+     */
+    private ResponseEntity<?> artifactResponse(StoredArtifact artifact, WebRequest webRequest) {
+        if (webRequest.checkNotModified(artifact.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(artifact.etag())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .contentType(artifact.contentType())
+            .body(artifact.body().get());
+    }
 }
@@ -0,0 +1,90 @@
+package com.labelai.controller;
+
+import com.labelai.api.Deadline;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * PipelineController 의 Mono/Flux 응답에 요청 처리 기한(Deadline)을 Reactor Context 로 실어 보냄
+ * 기한 = 요청 도착 시각 + min(헤더 값, 엔드포인트 기본값) → 클라이언트는 기한을 줄일 수만 있음
+ * 헤더 값: 밀리초 숫자 또는 30s / 2m 형식
+ * 다건 OCR 스트림(processOcrBatch)은 제외 - 스트림 전체에 기한을 걸면 뒤쪽 항목이 모두 실패하므로 OcrBatchService 가 항목마다 기한을 줌
+ */
+@Aspect
+@Component
+@Slf4j
+public class PipelineDeadlineAspect {
+    private static final String PIPELINE_PREFIX = "/api/pipeline/";
+
+    private final Environment environment;
+    private final String header;
+    private final Duration defaultTimeout;
+
+    public PipelineDeadlineAspect(Environment environment,
+                                  @Value("${pipeline.deadline.header:X-Request-Timeout}") String header,
+                                  @Value("${pipeline.deadline.default:120s}") Duration defaultTimeout) {
+        this.environment = environment;
+        this.header = header;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    @Around("(execution(reactor.core.publisher.Mono com.labelai.controller.PipelineController.*(..)) " +
+            "|| execution(reactor.core.publisher.Flux com.labelai.controller.PipelineController.*(..))) " +
+            "&& !execution(* com.labelai.controller.PipelineController.processOcrBatch(..))")
+    public Object withDeadline(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return joinPoint.proceed();
+        }
+        Deadline deadline = Deadline.after(timeout(attributes.getRequest()));
+
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono<?> mono) {
+            return mono.contextWrite(context -> context.put(Deadline.class, deadline));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.contextWrite(context -> context.put(Deadline.class, deadline));
+        }
+        return result;
+    }
+
+    private Duration timeout(HttpServletRequest request) {
+        Duration endpointDefault = environment.getProperty(
+            "pipeline.deadline.endpoints." + endpoint(request), Duration.class, defaultTimeout);
+
+        String requested = request.getHeader(header);
+        if (requested == null || requested.isBlank()) {
+            return endpointDefault;
+        }
+        try {
+            Duration parsed = requested.chars().allMatch(Character::isDigit)
+                ? Duration.ofMillis(Long.parseLong(requested))
+                : DurationStyle.detectAndParse(requested.trim());
+            return parsed.compareTo(endpointDefault) < 0 ? parsed : endpointDefault;
+        } catch (RuntimeException e) {
+            log.debug("잘못된 {} 헤더 무시: {}", header, requested);
+            return endpointDefault;
+        }
+    }
+
+    // /api/pipeline/full/multi → full
+    private String endpoint(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!uri.startsWith(PIPELINE_PREFIX)) return "";
+        String path = uri.substring(PIPELINE_PREFIX.length());
+        int slash = path.indexOf('/');
+        return slash < 0 ? path : path.substring(0, slash);
+    }
+}
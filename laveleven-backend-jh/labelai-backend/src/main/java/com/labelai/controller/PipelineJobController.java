@@ -0,0 +1,55 @@
+package com.labelai.controller;
+
+import com.labelai.dto.PipelineJobDTO;
+import com.labelai.service.PipelineJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/pipeline/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class PipelineJobController {
+    private final PipelineJobService pipelineJobService;
+
+    /**
+     * 전체 파이프라인 작업 등록 (즉시 jobId 반환)
+     */
+    @PostMapping
+    public ResponseEntity<?> submitJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "targetCountry", required = false) String targetCountry,
+            @RequestParam(value = "generateHtml", required = false, defaultValue = "false") Boolean generateHtml) {
+        try {
+            PipelineJobDTO job = pipelineJobService.submit(file, targetCountry, generateHtml);
+            log.info("[PIPELINE_JOB_SUBMITTED] jobId={}, filename={}", job.getJobId(), file.getOriginalFilename());
+            return ResponseEntity.accepted().body(job);
+        } catch (TaskRejectedException e) {
+            log.warn("[PIPELINE_JOB_REJECTED] filename={}", file.getOriginalFilename());
+            return ResponseEntity.status(503).body(Map.of("error", "작업 대기열이 가득 찼습니다"));
+        } catch (Exception e) {
+            log.error("[PIPELINE_JOB_SUBMIT_FAILED] filename={}, error={}", file.getOriginalFilename(), e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 작업 진행 상태 조회
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(pipelineJobService.getJob(jobId));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
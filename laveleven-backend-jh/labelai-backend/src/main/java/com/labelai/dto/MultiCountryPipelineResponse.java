@@ -0,0 +1,21 @@
+package com.labelai.dto;
+
+import lombok.*;
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class MultiCountryPipelineResponse {
+    private String itemId;
+    private OcrResponse ocr;
+    private Map<String, Object> structuredData;
+    private List<CountryResult> countries;   // 요청한 국가 순서
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class CountryResult {
+        private String targetCountry;
+        private Map<String, Object> translatedData;
+        private String html;
+        private String error;                // 해당 국가만 실패한 경우 (저장되지 않음)
+    }
+}
@@ -0,0 +1,11 @@
+package com.labelai.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OcrBatchResult {
+    private Integer index;            // 요청 내 순서 (응답은 완료 순서대로 전송)
+    private String filename;
+    private OcrResponse result;
+    private String error;
+}
@@ -0,0 +1,159 @@
+package com.labelai.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OCR 박스 좌표를 int[] 하나에 담은 형태 (줄마다 점 (x, y) 목록, 보통 4점)
+ * JSON 은 기존과 같은 [[[x, y], ...], ...] 형식으로 스트리밍 읽기/쓰기 하며 중간 List 를 만들지 않음
+ */
+@JsonSerialize(using = OcrBoxes.Writer.class)
+@JsonDeserialize(using = OcrBoxes.Reader.class)
+public final class OcrBoxes {
+    private final int[] offsets;   // 줄 i 의 좌표는 coords[offsets[i] .. offsets[i + 1]) (x, y 순서)
+    private final int[] coords;
+
+    public OcrBoxes(int[] offsets, int[] coords) {
+        this.offsets = offsets;
+        this.coords = coords;
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public int pointCount(int line) {
+        return (offsets[line + 1] - offsets[line]) / 2;
+    }
+
+    public int x(int line, int point) {
+        return coords[offsets[line] + point * 2];
+    }
+
+    public int y(int line, int point) {
+        return coords[offsets[line] + point * 2 + 1];
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] coords() {
+        return coords;
+    }
+
+    /**
+     * 좌표 배율 적용 (정규화 이미지 → 원본 좌표)
+     */
+    public OcrBoxes scale(double scaleX, double scaleY) {
+        int[] scaled = new int[coords.length];
+        for (int i = 0; i < coords.length; i += 2) {
+            scaled[i] = (int) Math.round(coords[i] * scaleX);
+            scaled[i + 1] = (int) Math.round(coords[i + 1] * scaleY);
+        }
+        return new OcrBoxes(offsets, scaled);
+    }
+
+    /**
+     * 기존 중첩 List 형태의 읽기 전용 뷰 (호출 시 값을 박싱, 복사하지 않음)
+     */
+    public List<List<List<Integer>>> asList() {
+        return new AbstractList<>() {
+            @Override
+            public List<List<Integer>> get(int line) {
+                return new AbstractList<>() {
+                    @Override
+                    public List<Integer> get(int point) {
+                        return List.of(x(line, point), y(line, point));
+                    }
+
+                    @Override
+                    public int size() {
+                        return pointCount(line);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return OcrBoxes.this.size();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof OcrBoxes other
+            && Arrays.equals(offsets, other.offsets)
+            && Arrays.equals(coords, other.coords);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(offsets) + Arrays.hashCode(coords);
+    }
+
+    static class Writer extends JsonSerializer<OcrBoxes> {
+        @Override
+        public void serialize(OcrBoxes boxes, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartArray();
+            for (int line = 0; line < boxes.size(); line++) {
+                gen.writeStartArray();
+                for (int point = 0; point < boxes.pointCount(line); point++) {
+                    gen.writeStartArray();
+                    gen.writeNumber(boxes.x(line, point));
+                    gen.writeNumber(boxes.y(line, point));
+                    gen.writeEndArray();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    static class Reader extends JsonDeserializer<OcrBoxes> {
+        @Override
+        public OcrBoxes deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (OcrBoxes) ctxt.handleUnexpectedToken(OcrBoxes.class, p);
+            }
+            int[] offsets = new int[16];
+            int[] coords = new int[128];
+            int lines = 0;
+            int length = 0;
+            while (p.nextToken() == JsonToken.START_ARRAY) {
+                if (lines + 1 >= offsets.length) offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                while (p.nextToken() == JsonToken.START_ARRAY) {
+                    if (length + 2 > coords.length) coords = Arrays.copyOf(coords, coords.length * 2);
+                    coords[length++] = readCoordinate(p, ctxt);
+                    coords[length++] = readCoordinate(p, ctxt);
+                    if (p.nextToken() != JsonToken.END_ARRAY) {
+                        return (OcrBoxes) ctxt.handleUnexpectedToken(OcrBoxes.class, p);
+                    }
+                }
+                offsets[++lines] = length;
+            }
+            return new OcrBoxes(Arrays.copyOf(offsets, lines + 1), Arrays.copyOf(coords, length));
+        }
+
+        // 모델 서버가 실수 좌표를 보내는 경우 반올림
+        private int readCoordinate(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.nextToken();
+            if (token == JsonToken.VALUE_NUMBER_INT) return p.getIntValue();
+            if (token == JsonToken.VALUE_NUMBER_FLOAT) return (int) Math.round(p.getDoubleValue());
+            return (Integer) ctxt.handleUnexpectedToken(Integer.class, p);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.labelai.dto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * OcrResponse 바이너리 형식 (scan.scan_meta 저장용, deflate 압축)
+ * 박스 좌표는 축별 직전 값과의 차이를 zigzag varint 로, 신뢰도는 float 로 기록
+ * 형식을 바꾸면 VERSION 을 올리고 이전 버전 읽기를 유지해야 함
+ * Data*Stream 은 varint/float 를 바이트 단위로 쓰고 읽으므로 deflate 스트림과의 사이에 버퍼를 둠 (바이트마다 네이티브 호출 방지)
+ */
+public final class OcrCodec {
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private OcrCodec() {
+    }
+
+    public static byte[] encode(OcrResponse ocr) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new DeflaterOutputStream(bytes), BUFFER_SIZE))) {
+            out.writeByte(VERSION);
+            writeString(out, ocr.getFilename());
+            writeString(out, ocr.getLanguage());
+            writeString(out, ocr.getImageHash());
+            writeStrings(out, ocr.getTexts());
+
+            OcrResponse.RawData raw = ocr.getRawData();
+            out.writeBoolean(raw != null);
+            if (raw != null) {
+                writeStrings(out, raw.getRecTexts());
+                writeBoxes(out, raw.getBoxes());
+                writeFloats(out, raw.getConfidences());
+                out.writeBoolean(raw.getAverageConfidence() != null);
+                if (raw.getAverageConfidence() != null) out.writeDouble(raw.getAverageConfidence());
+                writeString(out, raw.getLanguage());
+                out.writeBoolean(raw.getTotalLines() != null);
+                if (raw.getTotalLines() != null) out.writeInt(raw.getTotalLines());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static OcrResponse decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(data)), BUFFER_SIZE))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("지원하지 않는 OCR 형식 버전: " + version);
+            }
+            OcrResponse ocr = new OcrResponse();
+            ocr.setFilename(readString(in));
+            ocr.setLanguage(readString(in));
+            ocr.setImageHash(readString(in));
+            ocr.setTexts(readStrings(in));
+
+            if (in.readBoolean()) {
+                OcrResponse.RawData raw = new OcrResponse.RawData();
+                raw.setRecTexts(readStrings(in));
+                raw.setBoxes(readBoxes(in));
+                raw.setConfidences(readFloats(in));
+                raw.setAverageConfidence(in.readBoolean() ? in.readDouble() : null);
+                raw.setLanguage(readString(in));
+                raw.setTotalLines(in.readBoolean() ? in.readInt() : null);
+                ocr.setRawData(raw);
+            }
+            return ocr;
+        } catch (IOException e) {
+            throw new UncheckedIOException("OCR 바이너리 해석 실패", e);
+        }
+    }
+
+    private static void writeBoxes(DataOutputStream out, OcrBoxes boxes) throws IOException {
+        if (boxes == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, boxes.size() + 1);
+        int[] offsets = boxes.offsets();
+        for (int line = 0; line < boxes.size(); line++) {
+            writeVarInt(out, offsets[line + 1] - offsets[line]);
+        }
+        int[] coords = boxes.coords();
+        int previousX = 0;
+        int previousY = 0;
+        for (int i = 0; i < coords.length; i += 2) {
+            writeVarInt(out, zigzag(coords[i] - previousX));
+            writeVarInt(out, zigzag(coords[i + 1] - previousY));
+            previousX = coords[i];
+            previousY = coords[i + 1];
+        }
+    }
+
+    private static OcrBoxes readBoxes(DataInputStream in) throws IOException {
+        int lines = readVarInt(in) - 1;
+        if (lines < 0) return null;
+        int[] offsets = new int[lines + 1];
+        for (int line = 0; line < lines; line++) {
+            offsets[line + 1] = offsets[line] + readVarInt(in);
+        }
+        int[] coords = new int[offsets[lines]];
+        int previousX = 0;
+        int previousY = 0;
+        for (int i = 0; i < coords.length; i += 2) {
+            previousX += unzigzag(readVarInt(in));
+            previousY += unzigzag(readVarInt(in));
+            coords[i] = previousX;
+            coords[i + 1] = previousY;
+        }
+        return new OcrBoxes(offsets, coords);
+    }
+
+    private static void writeFloats(DataOutputStream out, float[] values) throws IOException {
+        out.writeInt(values != null ? values.length : -1);
+        if (values == null) return;
+        for (float value : values) {
+            out.writeFloat(value);
+        }
+    }
+
+    private static float[] readFloats(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values != null ? values.size() : -1);
+        if (values == null) return;
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) return null;
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("잘못된 varint");
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -9,12 +9,13 @@ public class OcrResponse {
     private String language;
     private List<String> texts;
     private RawData rawData;
+    private String imageHash;   // 원본 이미지 SHA-256 (OCR 캐시 키, 서버에서 설정)
     
     @Data
     public static class RawData {
         private List<String> recTexts;
-        private List<List<List<Integer>>> boxes;
-        private List<Double> confidences;
+        private OcrBoxes boxes;            // JSON: [[[x, y], ...], ...]
+        private float[] confidences;       // 줄별 신뢰도
         private Double averageConfidence;
         private String language;
         private Integer totalLines;
@@ -0,0 +1,24 @@
+package com.labelai.dto;
+
+import lombok.*;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PipelineJobDTO {
+    private String jobId;
+    private String status;            // PENDING, RUNNING, COMPLETED, FAILED
+    private String currentStage;      // OCR, STRUCTURE, TRANSLATE, HTML, DONE
+    private String targetCountry;
+    private Boolean generateHtml;
+    private OcrResponse ocr;
+    private Map<String, Object> structuredData;
+    private Map<String, Object> translatedData;
+    private String html;
+    private String error;
+    private String createdAt;
+    private String updatedAt;
+}
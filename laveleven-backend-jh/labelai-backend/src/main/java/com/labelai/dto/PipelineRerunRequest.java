@@ -0,0 +1,15 @@
+package com.labelai.dto;
+
+import lombok.*;
+import java.util.Map;
+
+/**
+ * 저장된 단계 결과를 재사용하는 재실행 요청
+ * structuredData 를 보내면 구조화 호출 없이 수정한 값을 그대로 사용 (이후 단계만 다시 실행)
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PipelineRerunRequest {
+    private String targetCountry;
+    private Boolean generateHtml;
+    private Map<String, Object> structuredData;
+}
@@ -0,0 +1,18 @@
+package com.labelai.dto;
+
+import lombok.*;
+import java.util.Map;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PipelineRerunResponse {
+    public static final String REUSED = "reused";
+    public static final String EXECUTED = "executed";
+    public static final String EDITED = "edited";
+
+    private String itemId;
+    private OcrResponse ocr;
+    private Map<String, Object> structuredData;
+    private Map<String, Object> translatedData;
+    private String html;
+    private Map<String, String> stages;      // 단계별 reused | executed | edited (실행 순서)
+}
@@ -0,0 +1,18 @@
+package com.labelai.dto;
+
+import lombok.*;
+import java.util.Map;
+
+/**
+ * 파이프라인 결과 일괄 저장 요청 (값이 있는 단계만 저장)
+ * targetCountry 는 translate / sketch 에 적용
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PipelineSaveAllRequest {
+    private String imageUrl;
+    private OcrResponse ocrResult;
+    private Map<String, Object> schema;
+    private Map<String, Object> translate;
+    private String sketch;
+    private String targetCountry;
+}
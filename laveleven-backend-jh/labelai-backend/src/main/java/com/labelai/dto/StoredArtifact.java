@@ -0,0 +1,15 @@
+package com.labelai.dto;
+
+import org.springframework.http.MediaType;
+
+import java.util.function.Supplier;
+
+/**
+ * 저장된 산출물 원문 조회 결과
+ * 행은 저장 후 수정되지 않으므로 행 id 를 strong ETag 로 사용하고, 본문은 body() 호출 시에만 읽음
+ */
+public record StoredArtifact(String id, MediaType contentType, Supplier<String> body) {
+    public String etag() {
+        return "\"" + id + "\"";
+    }
+}
@@ -0,0 +1,7 @@
+package com.labelai.dto;
+
+/**
+ * 이미지 blob 업로드 결과 (url 은 scan.scan_image_url 로 그대로 저장)
+ */
+public record StoredBlob(String hash, long size, String contentType, String url, boolean deduplicated) {
+}
@@ -0,0 +1,138 @@
+package com.labelai.entity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 큰 JSON/HTML 컬럼 압축 (gzip + Base64 를 JSON 문자열로 저장하므로 JSON 컬럼 제약을 그대로 만족)
+ * 형식: "gz1:<base64>" (따옴표 포함), 이 머리말이 없는 값은 압축 전 행으로 보고 그대로 읽음
+ * min-size 미만이거나 압축해도 줄지 않으면 원문 저장
+ */
+@Component
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+    public static final String PREFIX = "\"gz1:";
+    private static final String SUFFIX = "\"";
+
+    private final boolean enabled;
+    private final int minSize;
+    private final Counter compressedWrites;
+    private final Counter plainWrites;
+    private final Timer decompression;
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    public CompressedTextConverter(MeterRegistry registry,
+                                   @Value("${pipeline.compression.enabled:true}") boolean enabled,
+                                   @Value("${pipeline.compression.min-size:1024}") int minSize) {
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.compressedWrites = writeCounter(registry, "compressed");
+        this.plainWrites = writeCounter(registry, "plain");
+        this.decompression = Timer.builder("labelai.artifact.decompress")
+            .description("압축된 아티팩트 컬럼 해제 소요 시간")
+            .register(registry);
+        bytesCounter(registry, "original", originalBytes);
+        bytesCounter(registry, "stored", storedBytes);
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (attribute == null || !enabled || attribute.length() < minSize || isCompressed(attribute)) {
+            plainWrites.increment();
+            return attribute;
+        }
+        byte[] original = attribute.getBytes(StandardCharsets.UTF_8);
+        String encoded = PREFIX + Base64.getEncoder().encodeToString(gzip(original)) + SUFFIX;
+        if (encoded.length() >= original.length) {
+            plainWrites.increment();
+            return attribute;
+        }
+        compressedWrites.increment();
+        originalBytes.addAndGet(original.length);
+        storedBytes.addAndGet(encoded.length());
+        return encoded;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        if (!isCompressed(column)) {
+            return column;
+        }
+        return decompression.record(() -> {
+            byte[] compressed = Base64.getDecoder().decode(
+                column.substring(PREFIX.length(), column.length() - SUFFIX.length()));
+            return new String(gunzip(compressed), StandardCharsets.UTF_8);
+        });
+    }
+
+    public static boolean isCompressed(String value) {
+        return value != null && value.startsWith(PREFIX) && value.endsWith(SUFFIX);
+    }
+
+    public Map<String, Object> getStats() {
+        long original = originalBytes.get();
+        return Map.of(
+            "enabled", enabled,
+            "minSize", minSize,
+            "compressedWrites", (long) compressedWrites.count(),
+            "plainWrites", (long) plainWrites.count(),
+            "originalBytes", original,
+            "storedBytes", storedBytes.get(),
+            "ratio", original == 0 ? 1.0 : (double) storedBytes.get() / original,
+            "avgDecompressMs", decompression.mean(TimeUnit.MILLISECONDS)
+        );
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("압축된 컬럼 해제 실패", e);
+        }
+    }
+
+    private static void bytesCounter(MeterRegistry registry, String kind, AtomicLong bytes) {
+        FunctionCounter.builder("labelai.artifact.compressed.bytes", bytes, AtomicLong::get)
+            .description("압축 저장한 아티팩트의 원본/저장 크기")
+            .tag("kind", kind)
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    private static Counter writeCounter(MeterRegistry registry, String format) {
+        return Counter.builder("labelai.artifact.writes")
+            .description("아티팩트 컬럼 저장 건수")
+            .tag("format", format)
+            .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.labelai.entity;
+
+/**
+ * 직전 버전 대비 JSON Patch 로 저장될 수 있는 산출물 (schema_data, translate)
+ * baseVersion 이 null 이면 data 는 전체 문서(스냅샷), 아니면 baseVersion 문서에 적용할 RFC 6902 patch
+ * snapshotVersion 은 이 patch 체인이 시작된 스냅샷 버전 (복원 시 조회 범위)
+ */
+public interface DeltaArtifact {
+    Integer getVersion();
+    String getData();
+    void setData(String data);
+    Integer getBaseVersion();
+    void setBaseVersion(Integer baseVersion);
+    Integer getSnapshotVersion();
+    void setSnapshotVersion(Integer snapshotVersion);
+}
@@ -35,6 +35,19 @@ public class Item {
     @Column(columnDefinition = "TEXT")
     private String description;
     
+    // 산출물별 최신 버전 포인터 (ArtifactVersionService 가 UPDATE 로만 갱신)
+    @Column(name = "latest_scan_version", insertable = false, updatable = false)
+    private Integer latestScanVersion;
+    
+    @Column(name = "latest_schema_version", insertable = false, updatable = false)
+    private Integer latestSchemaVersion;
+    
+    @Column(name = "latest_translate_version", insertable = false, updatable = false)
+    private Integer latestTranslateVersion;
+    
+    @Column(name = "latest_sketch_version", insertable = false, updatable = false)
+    private Integer latestSketchVersion;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
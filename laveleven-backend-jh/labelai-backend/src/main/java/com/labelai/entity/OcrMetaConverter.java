@@ -0,0 +1,67 @@
+package com.labelai.entity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.labelai.dto.OcrCodec;
+import com.labelai.dto.OcrResponse;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * scan.scan_meta 를 OcrCodec 바이너리(deflate) + Base64 의 JSON 문자열로 저장 ("ocr1:<base64>")
+ * 이전 형식(평문 JSON, CompressedTextConverter 의 "gz1:" 압축 JSON)도 그대로 읽음
+ */
+@Component
+@Converter
+public class OcrMetaConverter implements AttributeConverter<OcrResponse, String> {
+    public static final String PREFIX = "\"ocr1:";
+    private static final String SUFFIX = "\"";
+
+    private final ObjectMapper objectMapper;
+    private final CompressedTextConverter compressedTextConverter;
+
+    public OcrMetaConverter(ObjectMapper objectMapper, CompressedTextConverter compressedTextConverter) {
+        this.objectMapper = objectMapper;
+        this.compressedTextConverter = compressedTextConverter;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(OcrResponse attribute) {
+        if (attribute == null) return null;
+        return PREFIX + Base64.getEncoder().encodeToString(OcrCodec.encode(attribute)) + SUFFIX;
+    }
+
+    @Override
+    public OcrResponse convertToEntityAttribute(String column) {
+        if (column == null) return null;
+        if (column.startsWith(PREFIX) && column.endsWith(SUFFIX)) {
+            return OcrCodec.decode(Base64.getDecoder().decode(
+                column.substring(PREFIX.length(), column.length() - SUFFIX.length())));
+        }
+        try {
+            return objectMapper.readValue(compressedTextConverter.convertToEntityAttribute(column), OcrResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("scan_meta 파싱 실패", e);
+        }
+    }
+
+    /**
+     * API 응답에서는 기존처럼 scanMeta 를 JSON 문자열로 내보냄 (응답 시점에만 생성)
+     */
+    public static class AsJsonString extends JsonSerializer<OcrResponse> {
+        private static final ObjectMapper FALLBACK_MAPPER = new ObjectMapper();
+
+        @Override
+        public void serialize(OcrResponse value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            ObjectMapper mapper = gen.getCodec() instanceof ObjectMapper codec ? codec : FALLBACK_MAPPER;
+            gen.writeString(mapper.writeValueAsString(value));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.labelai.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "pipeline_job")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PipelineJob {
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    public static final String STAGE_OCR = "OCR";
+    public static final String STAGE_STRUCTURE = "STRUCTURE";
+    public static final String STAGE_TRANSLATE = "TRANSLATE";
+    public static final String STAGE_HTML = "HTML";
+    public static final String STAGE_DONE = "DONE";
+
+    @Id
+    private String id;
+    
+    @Column(nullable = false)
+    private String status;
+    
+    @Column(name = "current_stage", nullable = false)
+    private String currentStage;
+    
+    @Column(name = "target_country")
+    private String targetCountry;
+    
+    @Column(name = "generate_html")
+    private Boolean generateHtml;
+    
+    @Column(name = "image_path", nullable = false, columnDefinition = "TEXT")
+    private String imagePath;
+    
+    @Column(name = "image_filename")
+    private String imageFilename;
+    
+    @Column(name = "image_content_type")
+    private String imageContentType;
+    
+    @Column(name = "ocr_result", columnDefinition = "JSON")
+    private String ocrResult;
+    
+    @Column(name = "structure_result", columnDefinition = "JSON")
+    private String structureResult;
+    
+    @Column(name = "translate_result", columnDefinition = "JSON")
+    private String translateResult;
+    
+    @Column(name = "html_result", columnDefinition = "LONGTEXT")
+    private String htmlResult;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by", nullable = false)
+    private User createdBy;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    void onCreate() { createdAt = updatedAt = LocalDateTime.now(); }
+    
+    @PreUpdate
+    void onUpdate() { updatedAt = LocalDateTime.now(); }
+}
@@ -1,11 +1,16 @@
 package com.labelai.entity;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.labelai.dto.OcrResponse;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "scan")
+@Table(name = "scan", indexes = {
+    @Index(name = "idx_scan_image_hash", columnList = "image_hash"),
+    @Index(name = "uk_scan_item_version", columnList = "item_id, version", unique = true)
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Scan {
     @Id
@@ -18,8 +23,16 @@ public class Scan {
     @Column(name = "scan_image_url", nullable = false, columnDefinition = "TEXT")
     private String scanImageUrl;
     
+    @Convert(converter = OcrMetaConverter.class)
     @Column(name = "scan_meta", columnDefinition = "JSON")
-    private String scanMeta;
+    @JsonSerialize(using = OcrMetaConverter.AsJsonString.class)
+    private OcrResponse scanMeta;
+    
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+    
+    @Column(name = "version")
+    private Integer version;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -5,9 +5,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "schema_data")
+@Table(name = "schema_data", indexes = @Index(name = "uk_schema_item_version", columnList = "item_id, version", unique = true))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
-public class SchemaData {
+public class SchemaData implements DeltaArtifact {
     @Id
     private String id;
     
@@ -15,9 +15,22 @@ public class SchemaData {
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
     
+    @Convert(converter = CompressedTextConverter.class)
     @Column(nullable = false, columnDefinition = "JSON")
     private String data;
     
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+    
+    @Column(name = "version")
+    private Integer version;
+    
+    @Column(name = "base_version")
+    private Integer baseVersion;
+    
+    @Column(name = "snapshot_version")
+    private Integer snapshotVersion;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sketch")
+@Table(name = "sketch", indexes = {
+    @Index(name = "uk_sketch_item_version", columnList = "item_id, version", unique = true),
+    @Index(name = "idx_sketch_item_country_version", columnList = "item_id, target_country, version")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Sketch {
     @Id
@@ -15,9 +18,19 @@ public class Sketch {
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
     
+    @Column(name = "target_country", length = 10)
+    private String targetCountry;
+    
+    @Convert(converter = CompressedTextConverter.class)
     @Column(nullable = false, columnDefinition = "LONGTEXT")
     private String data;
     
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+    
+    @Column(name = "version")
+    private Integer version;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -5,9 +5,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "translate")
+@Table(name = "translate", indexes = {
+    @Index(name = "uk_translate_item_version", columnList = "item_id, version", unique = true),
+    @Index(name = "idx_translate_item_country_version", columnList = "item_id, target_country, version")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
-public class Translate {
+public class Translate implements DeltaArtifact {
     @Id
     private String id;
     
@@ -15,9 +18,25 @@ public class Translate {
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
     
+    @Column(name = "target_country", length = 10)
+    private String targetCountry;
+    
+    @Convert(converter = CompressedTextConverter.class)
     @Column(nullable = false, columnDefinition = "JSON")
     private String data;
     
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+    
+    @Column(name = "version")
+    private Integer version;
+    
+    @Column(name = "base_version")
+    private Integer baseVersion;
+    
+    @Column(name = "snapshot_version")
+    private Integer snapshotVersion;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
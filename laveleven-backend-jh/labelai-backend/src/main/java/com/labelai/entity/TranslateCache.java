@@ -0,0 +1,29 @@
+package com.labelai.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "translate_cache")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TranslateCache {
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+    
+    @Column(name = "model_version", nullable = false)
+    private String modelVersion;
+    
+    @Column(name = "target_country")
+    private String targetCountry;
+    
+    @Column(nullable = false, columnDefinition = "JSON")
+    private String response;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    void onCreate() { createdAt = LocalDateTime.now(); }
+}
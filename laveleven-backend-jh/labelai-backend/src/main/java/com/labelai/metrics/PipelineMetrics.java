@@ -0,0 +1,84 @@
+package com.labelai.metrics;
+
+import com.labelai.api.ConcurrencyLimitExceededException;
+import com.labelai.api.DeadlineExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * 파이프라인 지연/처리량 메트릭 (Prometheus: /actuator/prometheus)
+ * - labelai.model.call: 모델 서버 호출 (stage, outcome, target_country)
+ * - labelai.pipeline.persistence: PipelineService save / get (stage, operation, outcome)
+ * 히스토그램 버킷은 management.metrics.distribution.percentiles-histogram.labelai 로 설정
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+    public static final String MODEL_CALL = "labelai.model.call";
+    public static final String PERSISTENCE = "labelai.pipeline.persistence";
+    public static final String NONE = "none";
+
+    // 국가 코드만 태그로 사용 (임의 입력으로 시계열이 늘어나지 않도록)
+    private static final Pattern COUNTRY_CODE = Pattern.compile("[A-Za-z]{2,3}");
+
+    private final MeterRegistry registry;
+
+    public <T> Mono<T> timeModelCall(String stage, String targetCountry, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call
+                .doOnSuccess(value -> stopModelCall(sample, stage, targetCountry, "success"))
+                .doOnError(e -> stopModelCall(sample, stage, targetCountry, outcome(e)))
+                .doOnCancel(() -> stopModelCall(sample, stage, targetCountry, "cancelled"));
+        });
+    }
+
+    public void recordPersistence(Timer.Sample sample, String stage, String operation, String outcome) {
+        sample.stop(Timer.builder(PERSISTENCE)
+            .description("PipelineService 저장/조회 소요 시간")
+            .tag("stage", stage)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(registry));
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public static String country(String targetCountry) {
+        return targetCountry != null && COUNTRY_CODE.matcher(targetCountry).matches()
+            ? targetCountry.toUpperCase() : NONE;
+    }
+
+    public static String outcome(Throwable e) {
+        if (e instanceof ConcurrencyLimitExceededException || e instanceof BulkheadFullException) return "rejected";
+        if (e instanceof CallNotPermittedException) return "circuit_open";
+        if (e instanceof DeadlineExceededException) return "deadline_exceeded";
+        if (e instanceof TimeoutException) return "timeout";
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is4xxClientError() ? "client_error" : "server_error";
+        }
+        if (e instanceof WebClientRequestException) return "connect_error";
+        return "error";
+    }
+
+    private void stopModelCall(Timer.Sample sample, String stage, String targetCountry, String outcome) {
+        sample.stop(Timer.builder(MODEL_CALL)
+            .description("모델 서버 호출 소요 시간 (재시도/대기 포함)")
+            .tag("stage", stage)
+            .tag("outcome", outcome)
+            .tag("target_country", country(targetCountry))
+            .register(registry));
+    }
+}
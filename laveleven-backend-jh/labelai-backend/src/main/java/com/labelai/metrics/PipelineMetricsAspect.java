@@ -0,0 +1,49 @@
+package com.labelai.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * PipelineService 의 save* / get* 소요 시간 (통계 조회용 get*Stats 제외)
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class PipelineMetricsAspect {
+    private final PipelineMetrics metrics;
+
+    @Around("(execution(* com.labelai.service.PipelineService.save*(..)) " +
+            "|| execution(* com.labelai.service.PipelineService.get*(..))) " +
+            "&& !execution(* com.labelai.service.PipelineService.get*Stats(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String methodName = joinPoint.getSignature().getName();
+        String operation = methodName.startsWith("save") ? "save" : "get";
+        Timer.Sample sample = metrics.start();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (AccessDeniedException e) {
+            outcome = "denied";
+            throw e;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            metrics.recordPersistence(sample, determineStage(methodName), operation, outcome);
+        }
+    }
+
+    private String determineStage(String methodName) {
+        if (methodName.contains("Scan")) return "scan";
+        if (methodName.contains("Schema")) return "schema";
+        if (methodName.contains("Translate")) return "translate";
+        if (methodName.contains("Sketch")) return "sketch";
+        if (methodName.equals("saveAll")) return "all";
+        return "other";
+    }
+}
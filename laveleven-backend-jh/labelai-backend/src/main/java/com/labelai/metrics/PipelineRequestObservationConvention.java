@@ -0,0 +1,39 @@
+package com.labelai.metrics;
+
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * http.server.requests 에 파이프라인 단계(stage)와 대상 국가(target_country) 태그 추가
+ * (Prometheus 는 같은 이름의 메트릭이 같은 태그 키를 가져야 하므로 모든 요청에 태그를 붙이고 없으면 none)
+ */
+@Component
+public class PipelineRequestObservationConvention extends DefaultServerRequestObservationConvention {
+    private static final String PIPELINE_PREFIX = "/api/pipeline/";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+            .and("stage", stage(context.getPathPattern()))
+            .and("target_country", targetCountry(context.getCarrier()));
+    }
+
+    private String stage(String pathPattern) {
+        if (pathPattern == null || !pathPattern.startsWith(PIPELINE_PREFIX)) {
+            return PipelineMetrics.NONE;
+        }
+        // /api/pipeline/get/translate/{itemId} → get/translate
+        String stage = pathPattern.substring(PIPELINE_PREFIX.length()).replaceAll("/\\{[^}]+}", "");
+        return stage.isEmpty() ? PipelineMetrics.NONE : stage;
+    }
+
+    private String targetCountry(HttpServletRequest request) {
+        if (request == null || !request.getRequestURI().startsWith(PIPELINE_PREFIX)) {
+            return PipelineMetrics.NONE;
+        }
+        return PipelineMetrics.country(request.getParameter("targetCountry"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.labelai.metrics;
+
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.api.ModelServerConcurrencyLimiters;
+import com.labelai.api.ModelServerPoolMetrics;
+import com.labelai.api.RequestHedger;
+import com.labelai.service.ArtifactCompressionService;
+import com.labelai.service.ArtifactDeltaService;
+import com.labelai.service.ImageBlobStore;
+import com.labelai.service.ImagePreprocessService;
+import com.labelai.service.OcrCacheService;
+import com.labelai.service.TranslateCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 파이프라인 구성 요소의 현재 설정/상태 (관리 포트: GET /actuator/pipeline, /actuator/pipeline/{section})
+ * 누적 카운터는 미터로 등록되어 있으므로 추이는 /actuator/prometheus 에서 확인
+ * (여기서는 백필/GC 보고서, 테이블 용량처럼 미터로 표현하기 어려운 항목도 함께 반환)
+ */
+@Component
+@Endpoint(id = "pipeline")
+@RequiredArgsConstructor
+public class PipelineStatsEndpoint {
+    private final OcrCacheService ocrCacheService;
+    private final ImagePreprocessService imagePreprocessService;
+    private final TranslateCacheService translateCacheService;
+    private final FoodLabelApiClient apiClient;
+    private final ModelServerConcurrencyLimiters concurrencyLimiters;
+    private final RequestHedger hedger;
+    private final ModelServerPoolMetrics poolMetrics;
+    private final ArtifactCompressionService artifactCompressionService;
+    private final ArtifactDeltaService artifactDeltaService;
+    private final ImageBlobStore imageBlobStore;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        sections().forEach((name, section) -> stats.put(name, section.get()));
+        return stats;
+    }
+
+    /**
+     * 없는 section 이면 null → 404
+     */
+    @ReadOperation
+    public Map<String, Object> section(@Selector String section) {
+        Supplier<Map<String, Object>> supplier = sections().get(section);
+        return supplier != null ? supplier.get() : null;
+    }
+
+    private Map<String, Supplier<Map<String, Object>>> sections() {
+        Map<String, Supplier<Map<String, Object>>> sections = new LinkedHashMap<>();
+        sections.put("ocr-cache", ocrCacheService::getStats);
+        sections.put("preprocess", imagePreprocessService::getStats);
+        sections.put("translate-cache", translateCacheService::getStats);
+        sections.put("coalescing", apiClient::getCoalescingStats);
+        sections.put("concurrency", concurrencyLimiters::getStats);
+        sections.put("hedging", hedger::getStats);
+        sections.put("connection-pool", poolMetrics::getStats);
+        sections.put("compression", artifactCompressionService::getStats);
+        sections.put("delta", artifactDeltaService::getStats);
+        sections.put("blobs", imageBlobStore::getStats);
+        return sections;
+    }
+}
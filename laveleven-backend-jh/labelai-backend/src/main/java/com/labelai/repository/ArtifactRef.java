@@ -0,0 +1,12 @@
+package com.labelai.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 산출물 행의 id / 버전만 읽는 projection (본문 컬럼을 읽지 않고 ETag 비교, 버전 목록 조회용)
+ */
+public interface ArtifactRef {
+    String getId();
+    Integer getVersion();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,11 @@
+package com.labelai.repository;
+
+import com.labelai.entity.PipelineJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
+
+public interface PipelineJobRepository extends JpaRepository<PipelineJob, String> {
+    // 재시작 시 미완료 작업 재개용
+    List<PipelineJob> findByStatusInOrderByCreatedAtAsc(Collection<String> statuses);
+}
@@ -2,8 +2,17 @@ package com.labelai.repository;
 
 import com.labelai.entity.Scan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface ScanRepository extends JpaRepository<Scan, String> {
-    List<Scan> findByItemId(String itemId);
+    List<Scan> findByItemIdOrderByVersionDesc(String itemId);
+    List<ArtifactRef> findRefByItemIdOrderByVersionDesc(String itemId);
+    Optional<Scan> findFirstByImageHashOrderByCreatedAtDesc(String imageHash);
+
+    // 최신 버전: items.latest_scan_version 포인터 + (item_id, version) 인덱스
+    @Query("SELECT s FROM Scan s JOIN s.item i WHERE i.id = :itemId AND s.version = i.latestScanVersion")
+    Optional<Scan> findLatest(@Param("itemId") String itemId);
 }
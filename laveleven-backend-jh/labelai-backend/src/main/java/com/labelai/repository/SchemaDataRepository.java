@@ -2,8 +2,22 @@ package com.labelai.repository;
 
 import com.labelai.entity.SchemaData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface SchemaDataRepository extends JpaRepository<SchemaData, String> {
-    Optional<SchemaData> findByItemId(String itemId);
+    Optional<ArtifactRef> findRefByItemIdAndVersion(String itemId, Integer version);
+    Optional<SchemaData> findFirstByItemIdAndVersionLessThanOrderByVersionDesc(String itemId, Integer version);
+    List<SchemaData> findByItemIdAndVersionBetween(String itemId, Integer from, Integer to);
+    List<ArtifactRef> findRefByItemIdOrderByVersionDesc(String itemId);
+
+    // 최신 버전: items.latest_schema_version 포인터 + (item_id, version) 인덱스
+    @Query("SELECT s FROM SchemaData s JOIN s.item i WHERE i.id = :itemId AND s.version = i.latestSchemaVersion")
+    Optional<SchemaData> findLatest(@Param("itemId") String itemId);
+
+    @Query("SELECT s.id AS id, s.version AS version, s.createdAt AS createdAt FROM SchemaData s JOIN s.item i " +
+           "WHERE i.id = :itemId AND s.version = i.latestSchemaVersion")
+    Optional<ArtifactRef> findLatestRef(@Param("itemId") String itemId);
 }
@@ -2,8 +2,19 @@ package com.labelai.repository;
 
 import com.labelai.entity.Sketch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface SketchRepository extends JpaRepository<Sketch, String> {
-    Optional<Sketch> findByItemId(String itemId);
+    Optional<Sketch> findFirstByItemIdAndTargetCountryOrderByVersionDesc(String itemId, String targetCountry);
+    Optional<ArtifactRef> findFirstRefByItemIdAndTargetCountryOrderByVersionDesc(String itemId, String targetCountry);
+    Optional<ArtifactRef> findRefByItemIdAndVersion(String itemId, Integer version);
+    List<ArtifactRef> findRefByItemIdOrderByVersionDesc(String itemId);
+
+    // 최신 버전: items.latest_sketch_version 포인터 + (item_id, version) 인덱스
+    @Query("SELECT s.id AS id, s.version AS version, s.createdAt AS createdAt FROM Sketch s JOIN s.item i " +
+           "WHERE i.id = :itemId AND s.version = i.latestSketchVersion")
+    Optional<ArtifactRef> findLatestRef(@Param("itemId") String itemId);
 }
@@ -0,0 +1,31 @@
+package com.labelai.repository;
+
+import com.labelai.entity.TranslateCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface TranslateCacheRepository extends JpaRepository<TranslateCache, String> {
+    
+    // 번역 모델 버전 변경 시 이전 버전 캐시 일괄 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TranslateCache t WHERE t.modelVersion <> :modelVersion")
+    int deleteByModelVersionNot(@Param("modelVersion") String modelVersion);
+    
+    // 명시적 무효화: 현재 버전을 포함한 전체 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TranslateCache t")
+    int deleteAllEntries();
+    
+    // TTL 만료 항목 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TranslateCache t WHERE t.createdAt < :threshold")
+    int deleteExpired(@Param("threshold") LocalDateTime threshold);
+}
@@ -2,8 +2,22 @@ package com.labelai.repository;
 
 import com.labelai.entity.Translate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface TranslateRepository extends JpaRepository<Translate, String> {
-    Optional<Translate> findByItemId(String itemId);
+    Optional<Translate> findFirstByItemIdAndTargetCountryOrderByVersionDesc(String itemId, String targetCountry);
+    Optional<ArtifactRef> findFirstRefByItemIdAndTargetCountryOrderByVersionDesc(String itemId, String targetCountry);
+    Optional<ArtifactRef> findRefByItemIdAndVersion(String itemId, Integer version);
+    Optional<Translate> findFirstByItemIdAndTargetCountryAndVersionLessThanOrderByVersionDesc(
+        String itemId, String targetCountry, Integer version);
+    List<Translate> findByItemIdAndVersionBetween(String itemId, Integer from, Integer to);
+    List<ArtifactRef> findRefByItemIdOrderByVersionDesc(String itemId);
+
+    // 최신 버전: items.latest_translate_version 포인터 + (item_id, version) 인덱스
+    @Query("SELECT s.id AS id, s.version AS version, s.createdAt AS createdAt FROM Translate s JOIN s.item i " +
+           "WHERE i.id = :itemId AND s.version = i.latestTranslateVersion")
+    Optional<ArtifactRef> findLatestRef(@Param("itemId") String itemId);
 }
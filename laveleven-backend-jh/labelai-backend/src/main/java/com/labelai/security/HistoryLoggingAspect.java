@@ -27,9 +27,10 @@ public class HistoryLoggingAspect {
     private final ObjectMapper objectMapper;
 
     @AfterReturning(
-        pointcut = "execution(* com.labelai.service.PipelineService.save*(..)) " +
+        pointcut = "(execution(* com.labelai.service.PipelineService.save*(..)) " +
                   "|| execution(* com.labelai.service.ItemService.createItem(..)) " +
-                  "|| execution(* com.labelai.service.ItemService.deleteItem(..))",
+                  "|| execution(* com.labelai.service.ItemService.deleteItem(..))) " +
+                  "&& !execution(* com.labelai.service.PipelineService.saveAll(..))",
         returning = "result"
     )
     public void logChange(JoinPoint joinPoint, Object result) {
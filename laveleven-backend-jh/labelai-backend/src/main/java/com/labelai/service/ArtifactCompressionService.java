@@ -0,0 +1,217 @@
+package com.labelai.service;
+
+import com.labelai.entity.CompressedTextConverter;
+import com.labelai.entity.OcrMetaConverter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 압축 이전에 저장된 행을 현재 저장 형식으로 다시 저장
+ * (scan.scan_meta 는 OcrMetaConverter 바이너리, schema_data / translate / sketch 는 CompressedTextConverter)
+ * 엔티티 값(해제된 문자열)은 바뀌지 않아 dirty checking 으로는 갱신되지 않으므로 네이티브 쿼리로 id 순서대로 배치 처리
+ * 컬럼별 저장 용량(SUM(LENGTH))과 읽기 지연(변환 대상 행 표본의 조회 + 엔티티 값 복원)을 작업 전후로 기록해 보고
+ */
+@Service
+@Slf4j
+public class ArtifactCompressionService {
+    private static final int READ_SAMPLE_ROWS = 200;
+
+    private final CompressedTextConverter converter;
+    private final List<ArtifactColumn> columns;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final List<Map<String, Object>> report = Collections.synchronizedList(new ArrayList<>());
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ArtifactCompressionService(CompressedTextConverter converter,
+                                      OcrMetaConverter ocrMetaConverter,
+                                      EntityManager entityManager,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${pipeline.compression.backfill-batch-size:200}") int batchSize) {
+        this.converter = converter;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.columns = List.of(
+            new ArtifactColumn("scan", "scan_meta", OcrMetaConverter.PREFIX,
+                value -> ocrMetaConverter.convertToDatabaseColumn(ocrMetaConverter.convertToEntityAttribute(value)),
+                ocrMetaConverter::convertToEntityAttribute),
+            new ArtifactColumn("schema_data", "data", CompressedTextConverter.PREFIX,
+                converter::convertToDatabaseColumn, converter::convertToEntityAttribute),
+            new ArtifactColumn("translate", "data", CompressedTextConverter.PREFIX,
+                converter::convertToDatabaseColumn, converter::convertToEntityAttribute),
+            new ArtifactColumn("sketch", "data", CompressedTextConverter.PREFIX,
+                converter::convertToDatabaseColumn, converter::convertToEntityAttribute)
+        );
+    }
+
+    /**
+     * 백필을 boundedElastic 에서 시작 (이미 실행 중이면 IllegalStateException)
+     */
+    public Map<String, Object> startBackfill() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("압축 백필이 이미 실행 중입니다");
+        }
+        report.clear();
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        Mono.fromRunnable(this::runBackfill)
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe();
+        return getStats();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("converter", converter.getStats());
+        stats.put("backfillRunning", running.get());
+        stats.put("backfillStartedAt", startedAt);
+        stats.put("backfillFinishedAt", finishedAt);
+        stats.put("backfillError", error);
+        synchronized (report) {
+            stats.put("backfill", List.copyOf(report));
+        }
+        return stats;
+    }
+
+    private void runBackfill() {
+        try {
+            for (ArtifactColumn column : columns) {
+                report.add(backfill(column));
+            }
+            log.info("압축 백필 완료: {}", report);
+        } catch (Exception e) {
+            error = e.getMessage();
+            log.error("압축 백필 실패", e);
+        } finally {
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> backfill(ArtifactColumn column) {
+        long bytesBefore = storedBytes(column);
+        // 변환될 행 중 앞쪽 표본을 작업 전후 같은 id 로 읽어 비교
+        List<String> sample = uncompressedRows(column, "").stream()
+            .limit(READ_SAMPLE_ROWS)
+            .map(row -> row[0].toString())
+            .toList();
+        double readMsBefore = readLatencyMs(column, sample);
+        long scanned = 0;
+        long compressed = 0;
+        String lastId = "";
+
+        while (true) {
+            List<Object[]> rows = uncompressedRows(column, lastId);
+            if (rows.isEmpty()) break;
+
+            Map<String, String> updates = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                String id = row[0].toString();
+                String value = row[1].toString();
+                lastId = id;
+                try {
+                    String encoded = column.rewrite().apply(value);
+                    if (encoded.startsWith(column.prefix())) {
+                        updates.put(id, encoded);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("압축 백필 건너뜀: table={}, id={}, error={}", column.table(), id, e.getMessage());
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> updates.forEach((id, encoded) ->
+                entityManager.createNativeQuery(
+                        "UPDATE " + column.table() + " SET " + column.column() + " = :value WHERE id = :id")
+                    .setParameter("value", encoded)
+                    .setParameter("id", id)
+                    .executeUpdate()));
+            scanned += rows.size();
+            compressed += updates.size();
+        }
+
+        long bytesAfter = storedBytes(column);
+        double readMsAfter = readLatencyMs(column, sample);
+        log.info("압축 백필: table={}, scanned={}, compressed={}, bytes {} -> {}, readMs {} -> {}",
+            column.table(), scanned, compressed, bytesBefore, bytesAfter, readMsBefore, readMsAfter);
+        return Map.of(
+            "table", column.table(),
+            "column", column.column(),
+            "rowsScanned", scanned,
+            "rowsCompressed", compressed,
+            "bytesBefore", bytesBefore,
+            "bytesAfter", bytesAfter,
+            "readSampleRows", sample.size(),
+            "readMsBefore", readMsBefore,
+            "readMsAfter", readMsAfter
+        );
+    }
+
+    /**
+     * 표본 행 하나를 조회해 엔티티 값으로 복원하는 평균 시간 (한 번 읽어 JIT/버퍼 캐시를 데운 뒤 두 번째 측정)
+     */
+    private double readLatencyMs(ArtifactColumn column, List<String> ids) {
+        if (ids.isEmpty()) return 0.0;
+        readAll(column, ids);
+        long start = System.nanoTime();
+        readAll(column, ids);
+        return (System.nanoTime() - start) / 1_000_000.0 / ids.size();
+    }
+
+    private void readAll(ArtifactColumn column, List<String> ids) {
+        for (String id : ids) {
+            Object value = transactionTemplate.execute(status -> entityManager.createNativeQuery(
+                    "SELECT " + column.column() + " FROM " + column.table() + " WHERE id = :id")
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .orElse(null));
+            if (value != null) {
+                column.read().apply(value.toString());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> uncompressedRows(ArtifactColumn column, String afterId) {
+        return transactionTemplate.execute(status -> entityManager.createNativeQuery(
+                "SELECT id, " + column.column() + " FROM " + column.table() +
+                " WHERE id > :afterId AND " + column.column() + " IS NOT NULL" +
+                " AND " + column.column() + " NOT LIKE :prefix ORDER BY id LIMIT :limit")
+            .setParameter("afterId", afterId)
+            .setParameter("prefix", column.prefix() + "%")
+            .setParameter("limit", batchSize)
+            .getResultList());
+    }
+
+    private long storedBytes(ArtifactColumn column) {
+        Object total = transactionTemplate.execute(status -> entityManager.createNativeQuery(
+                "SELECT COALESCE(SUM(LENGTH(" + column.column() + ")), 0) FROM " + column.table())
+            .getSingleResult());
+        return total != null ? ((Number) total).longValue() : 0;
+    }
+
+    private record ArtifactColumn(String table, String column, String prefix,
+                                  UnaryOperator<String> rewrite, Function<String, ?> read) { }
+}
@@ -0,0 +1,330 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.entity.DeltaArtifact;
+import com.labelai.entity.SchemaData;
+import com.labelai.entity.Translate;
+import com.labelai.repository.SchemaDataRepository;
+import com.labelai.repository.TranslateRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * schema_data / translate 의 반복 저장을 직전 버전 대비 JSON Patch(RFC 6902) 로 저장
+ * 직전 버전까지 스냅샷 뒤에 쌓인 patch 수(base_version 체인 길이)가 snapshot-interval - 1 미만이고
+ * patch 가 전체 문서의 max-ratio 미만일 때만 patch 로 저장하고, 아니면 전체 문서(스냅샷)를 저장하므로
+ * 복원 시 patch 적용 횟수는 snapshot-interval - 1 이하
+ * translate 는 같은 대상 국가의 직전 버전을 기준으로 함 (버전 번호는 국가와 무관하게 item 단위라 간격이 아닌 체인 길이로 셈)
+ */
+@Service
+@Slf4j
+public class ArtifactDeltaService {
+    private static final List<String> TABLES = List.of("schema_data", "translate");
+
+    private final SchemaDataRepository schemaDataRepository;
+    private final TranslateRepository translateRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int snapshotInterval;
+    private final double maxRatio;
+
+    private final DeltaCounters written = new DeltaCounters();
+    private final AtomicLong reconstructions = new AtomicLong();
+    private final AtomicLong patchesApplied = new AtomicLong();
+
+    public ArtifactDeltaService(SchemaDataRepository schemaDataRepository,
+                                TranslateRepository translateRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                @Value("${pipeline.delta.enabled:true}") boolean enabled,
+                                @Value("${pipeline.delta.snapshot-interval:10}") int snapshotInterval,
+                                @Value("${pipeline.delta.max-ratio:0.5}") double maxRatio,
+                                MeterRegistry registry) {
+        this.schemaDataRepository = schemaDataRepository;
+        this.translateRepository = translateRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+        this.maxRatio = maxRatio;
+        written.register(registry);
+        FunctionCounter.builder("labelai.artifact.delta.reconstructions", reconstructions, AtomicLong::get)
+            .description("patch 를 적용해 복원한 조회 수")
+            .register(registry);
+        FunctionCounter.builder("labelai.artifact.delta.patches.applied", patchesApplied, AtomicLong::get)
+            .description("복원 시 적용한 patch 수")
+            .register(registry);
+    }
+
+    /**
+     * 버전이 할당된 새 행(persist 전)의 data 를 필요하면 patch 로 바꿈 (저장 트랜잭션 안에서 호출)
+     */
+    public void encode(String itemId, SchemaData row) {
+        if (!enabled) return;
+        SchemaData previous = schemaDataRepository
+            .findFirstByItemIdAndVersionLessThanOrderByVersionDesc(itemId, row.getVersion())
+            .orElse(null);
+        encode(row, previous, (from, to) -> schemaDataRepository.findByItemIdAndVersionBetween(itemId, from, to));
+    }
+
+    public void encode(String itemId, Translate row) {
+        if (!enabled) return;
+        Translate previous = translateRepository
+            .findFirstByItemIdAndTargetCountryAndVersionLessThanOrderByVersionDesc(itemId, row.getTargetCountry(), row.getVersion())
+            .orElse(null);
+        encode(row, previous, (from, to) -> translateRepository.findByItemIdAndVersionBetween(itemId, from, to));
+    }
+
+    /**
+     * 저장된 행의 전체 문서 (patch 행이면 스냅샷부터 체인을 따라 복원)
+     */
+    public String read(String itemId, SchemaData row) {
+        return read(row, (from, to) -> schemaDataRepository.findByItemIdAndVersionBetween(itemId, from, to));
+    }
+
+    public String read(String itemId, Translate row) {
+        return read(row, (from, to) -> translateRepository.findByItemIdAndVersionBetween(itemId, from, to));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("snapshotInterval", snapshotInterval);
+        stats.put("maxRatio", maxRatio);
+        stats.put("written", written.toMap());
+        stats.put("reconstructions", reconstructions.get());
+        stats.put("patchesApplied", patchesApplied.get());
+        Map<String, Object> tables = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            tables.put(table, tableStats(table));
+        }
+        stats.put("tables", tables);
+        return stats;
+    }
+
+    /**
+     * history 에 남은 실제 저장 이력(SCHEMA / TRANSLATE 의 SAVE payload)을 현재 정책으로 다시 인코딩했을 때의 용량
+     * (item 별, 단계별 저장 순서대로 재생, 최근 이력이 있는 item 부터 최대 items 개)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> replayHistory(int items) {
+        List<Object> itemIds = entityManager.createNativeQuery(
+                "SELECT item_id FROM history WHERE action_type = 'SAVE' AND step_name IN ('SCHEMA', 'TRANSLATE') " +
+                "GROUP BY item_id ORDER BY MAX(changed_at) DESC LIMIT ?1")
+            .setParameter(1, items)
+            .getResultList();
+
+        Map<String, DeltaCounters> byStep = new LinkedHashMap<>();
+        for (Object itemId : itemIds) {
+            List<Object[]> rows = entityManager.createNativeQuery(
+                    "SELECT step_name, payload FROM history WHERE item_id = ?1 AND action_type = 'SAVE' " +
+                    "AND step_name IN ('SCHEMA', 'TRANSLATE') ORDER BY changed_at, id")
+                .setParameter(1, itemId)
+                .getResultList();
+
+            Map<String, JsonNode> previous = new LinkedHashMap<>();
+            Map<String, Integer> chainLength = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                String step = row[0].toString();
+                JsonNode document;
+                try {
+                    // payload 는 save* 인자 배열 [itemId, 문서]
+                    document = objectMapper.readTree(row[1].toString()).get(1);
+                } catch (Exception e) {
+                    continue;
+                }
+                if (document == null || document.isNull()) continue;
+
+                DeltaCounters counters = byStep.computeIfAbsent(step, k -> new DeltaCounters());
+                String full = document.toString();
+                JsonNode before = previous.put(step, document);
+                int length = chainLength.getOrDefault(step, 0);
+                String patch = before != null && length + 1 < snapshotInterval ? deltaOrNull(before, document, full) : null;
+                if (patch != null) {
+                    counters.delta(full.length(), patch.length());
+                    chainLength.put(step, length + 1);
+                } else {
+                    counters.snapshot(full.length());
+                    chainLength.put(step, 0);
+                }
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("items", itemIds.size());
+        report.put("snapshotInterval", snapshotInterval);
+        report.put("maxRatio", maxRatio);
+        report.put("steps", byStep.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().toMap(), (a, b) -> a, LinkedHashMap::new)));
+        return report;
+    }
+
+    private void encode(DeltaArtifact row, DeltaArtifact previous,
+                        BiFunction<Integer, Integer, List<? extends DeltaArtifact>> range) {
+        String document = row.getData();
+        row.setBaseVersion(null);
+        row.setSnapshotVersion(null);
+
+        if (previous != null && previous.getVersion() != null && row.getVersion() != null) {
+            try {
+                Chain chain = chain(previous, range);
+                if (chain.patches().size() + 1 < snapshotInterval) {
+                    String patch = deltaOrNull(objectMapper.readTree(document(chain)),
+                        objectMapper.readTree(document), document);
+                    if (patch != null) {
+                        row.setData(patch);
+                        row.setBaseVersion(previous.getVersion());
+                        row.setSnapshotVersion(chain.snapshot().getVersion());
+                        written.delta(document.length(), patch.length());
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("delta 인코딩 실패, 스냅샷으로 저장: version={}, error={}", row.getVersion(), e.getMessage());
+            }
+        }
+        written.snapshot(document.length());
+    }
+
+    private String deltaOrNull(JsonNode before, JsonNode after, String full) {
+        String patch = JsonPatch.diff(before, after).toString();
+        return patch.length() < full.length() * maxRatio ? patch : null;
+    }
+
+    private String read(DeltaArtifact row, BiFunction<Integer, Integer, List<? extends DeltaArtifact>> range) {
+        if (row.getBaseVersion() == null) {
+            return row.getData();
+        }
+        Chain chain = chain(row, range);
+        String document = document(chain);
+        reconstructions.incrementAndGet();
+        patchesApplied.addAndGet(chain.patches().size());
+        return document;
+    }
+
+    /**
+     * row 부터 base_version 을 따라 스냅샷까지 (같은 item 의 [스냅샷, row] 버전 구간을 한 번에 조회)
+     */
+    private Chain chain(DeltaArtifact row, BiFunction<Integer, Integer, List<? extends DeltaArtifact>> range) {
+        Deque<DeltaArtifact> patches = new ArrayDeque<>();
+        if (row.getBaseVersion() == null) {
+            return new Chain(row, patches);
+        }
+        Map<Integer, DeltaArtifact> byVersion = range.apply(row.getSnapshotVersion(), row.getVersion()).stream()
+            .collect(Collectors.toMap(DeltaArtifact::getVersion, Function.identity(), (a, b) -> a));
+
+        DeltaArtifact current = row;
+        while (current.getBaseVersion() != null) {
+            patches.push(current);
+            current = byVersion.get(current.getBaseVersion());
+            if (current == null) {
+                throw new IllegalStateException("delta 기준 버전을 찾을 수 없습니다: version=" + row.getVersion());
+            }
+        }
+        return new Chain(current, patches);
+    }
+
+    private String document(Chain chain) {
+        if (chain.patches().isEmpty()) {
+            return chain.snapshot().getData();
+        }
+        try {
+            JsonNode document = objectMapper.readTree(chain.snapshot().getData());
+            for (DeltaArtifact patch : chain.patches()) {
+                document = JsonPatch.apply(document, objectMapper.readTree(patch.getData()));
+            }
+            return objectMapper.writeValueAsString(document);
+        } catch (Exception e) {
+            throw new IllegalStateException("delta 복원 실패: version=" + chain.patches().getLast().getVersion(), e);
+        }
+    }
+
+    private Map<String, Object> tableStats(String table) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                "SELECT SUM(CASE WHEN base_version IS NULL THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN base_version IS NOT NULL THEN 1 ELSE 0 END), " +
+                "COALESCE(SUM(CASE WHEN base_version IS NULL THEN LENGTH(data) ELSE 0 END), 0), " +
+                "COALESCE(SUM(CASE WHEN base_version IS NOT NULL THEN LENGTH(data) ELSE 0 END), 0) FROM " + table)
+            .getSingleResult();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshots", toLong(row[0]));
+        stats.put("deltas", toLong(row[1]));
+        stats.put("snapshotBytes", toLong(row[2]));
+        stats.put("deltaBytes", toLong(row[3]));
+        return stats;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    /**
+     * 스냅샷 행과 그 뒤에 적용할 patch 행 (오래된 것부터)
+     */
+    private record Chain(DeltaArtifact snapshot, Deque<DeltaArtifact> patches) { }
+
+    /**
+     * 저장 건수와 문자 수 (전체 문서 기준 vs 실제 저장)
+     */
+    private static final class DeltaCounters {
+        private final AtomicLong snapshots = new AtomicLong();
+        private final AtomicLong deltas = new AtomicLong();
+        private final AtomicLong documentChars = new AtomicLong();
+        private final AtomicLong storedChars = new AtomicLong();
+
+        void snapshot(int length) {
+            snapshots.incrementAndGet();
+            documentChars.addAndGet(length);
+            storedChars.addAndGet(length);
+        }
+
+        void delta(int documentLength, int patchLength) {
+            deltas.incrementAndGet();
+            documentChars.addAndGet(documentLength);
+            storedChars.addAndGet(patchLength);
+        }
+
+        void register(MeterRegistry registry) {
+            counter(registry, "labelai.artifact.delta.writes", "저장 형식별 건수", "format", "snapshot", snapshots);
+            counter(registry, "labelai.artifact.delta.writes", "저장 형식별 건수", "format", "delta", deltas);
+            counter(registry, "labelai.artifact.delta.chars", "전체 문서 기준 / 실제 저장 문자 수", "kind", "document", documentChars);
+            counter(registry, "labelai.artifact.delta.chars", "전체 문서 기준 / 실제 저장 문자 수", "kind", "stored", storedChars);
+        }
+
+        private static void counter(MeterRegistry registry, String name, String description,
+                                    String tag, String value, AtomicLong count) {
+            FunctionCounter.builder(name, count, AtomicLong::get)
+                .description(description)
+                .tag(tag, value)
+                .register(registry);
+        }
+
+        Map<String, Object> toMap() {
+            long document = documentChars.get();
+            long stored = storedChars.get();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("snapshots", snapshots.get());
+            map.put("deltas", deltas.get());
+            map.put("documentChars", document);
+            map.put("storedChars", stored);
+            map.put("reduction", document == 0 ? 0.0 : 1.0 - (double) stored / document);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.labelai.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * scan / schema_data / translate / sketch 의 item 별 단조 증가 버전 할당
+ * items.latest_*_version 을 UPDATE 로 올리면서 item 행을 잠그므로 같은 item 의 동시 저장은 커밋 순서대로 번호를 받음
+ * 최신 조회는 (item_id, version) 유니크 인덱스로 한 번에 찾음
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ArtifactVersionService implements SmartInitializingSingleton {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public enum Kind {
+        SCAN("scan", "latest_scan_version"),
+        SCHEMA("schema_data", "latest_schema_version"),
+        TRANSLATE("translate", "latest_translate_version"),
+        SKETCH("sketch", "latest_sketch_version");
+
+        private final String table;
+        private final String pointer;
+
+        Kind(String table, String pointer) {
+            this.table = table;
+            this.pointer = pointer;
+        }
+    }
+
+    /**
+     * 다음 버전 번호 (호출한 트랜잭션이 끝날 때까지 item 행 잠금 유지)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int next(String itemId, Kind kind) {
+        int updated = entityManager.createNativeQuery(
+                "UPDATE items SET " + kind.pointer + " = COALESCE(" + kind.pointer + ", 0) + 1 WHERE id = ?1")
+            .setParameter(1, itemId)
+            .executeUpdate();
+        if (updated == 0) {
+            throw new IllegalArgumentException("작업을 찾을 수 없습니다");
+        }
+        Number version = (Number) entityManager.createNativeQuery(
+                "SELECT " + kind.pointer + " FROM items WHERE id = ?1")
+            .setParameter(1, itemId)
+            .getSingleResult();
+        return version.intValue();
+    }
+
+    /**
+     * 버전 도입 전에 저장된 행(version IS NULL)에 created_at 순서로 번호를 매기고 item 포인터를 맞춤
+     * 웹 서버가 요청을 받기 전에 실행되므로 새 저장과 번호가 겹치지 않음 (남은 행이 없으면 조회 1회로 끝남)
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Kind kind : Kind.values()) {
+            try {
+                int assigned = transactionTemplate.execute(status -> backfill(kind));
+                if (assigned > 0) {
+                    log.info("산출물 버전 백필: table={}, rows={}", kind.table, assigned);
+                }
+            } catch (RuntimeException e) {
+                log.warn("산출물 버전 백필 실패: table={}, error={}", kind.table, e.getMessage());
+            }
+        }
+    }
+
+    private int backfill(Kind kind) {
+        Number pending = (Number) entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM " + kind.table + " WHERE version IS NULL")
+            .getSingleResult();
+        if (pending.longValue() == 0) {
+            return 0;
+        }
+        int assigned = entityManager.createNativeQuery(
+                "UPDATE " + kind.table + " t JOIN ("
+                    + "SELECT x.id, ROW_NUMBER() OVER (PARTITION BY x.item_id ORDER BY x.created_at, x.id)"
+                    + " + COALESCE(m.max_version, 0) AS v"
+                    + " FROM " + kind.table + " x"
+                    + " LEFT JOIN (SELECT item_id, MAX(version) AS max_version FROM " + kind.table
+                    + " WHERE version IS NOT NULL GROUP BY item_id) m ON m.item_id = x.item_id"
+                    + " WHERE x.version IS NULL) n ON n.id = t.id"
+                    + " SET t.version = n.v")
+            .executeUpdate();
+        entityManager.createNativeQuery(
+                "UPDATE items i JOIN (SELECT item_id, MAX(version) AS v FROM " + kind.table
+                    + " GROUP BY item_id) m ON m.item_id = i.id"
+                    + " SET i." + kind.pointer + " = GREATEST(COALESCE(i." + kind.pointer + ", 0), m.v)")
+            .executeUpdate();
+        return assigned;
+    }
+}
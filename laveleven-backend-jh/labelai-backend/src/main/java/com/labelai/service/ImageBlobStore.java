@@ -0,0 +1,354 @@
+package com.labelai.service;
+
+import com.labelai.dto.StoredBlob;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 라벨 이미지 로컬 저장소: 내용 SHA-256 을 이름으로 ab/cd/<hash> 에 저장하므로 같은 이미지는 한 번만 저장됨
+ * 응답은 Tomcat sendfile 이면 힙을 거치지 않고 커널에서 전송, 미지원 시 FileChannel.transferTo 로 응답 스트림에 복사 (힙 버퍼 경유)
+ * GC 는 scan.scan_image_url 에서 참조하지 않고 gc-grace 보다 오래된 blob 을 삭제
+ * (업로드/저장 시 파일 수정 시각을 갱신하므로 scan 저장 전의 업로드는 gc-grace 동안 보존됨)
+ * 업로드/retain 의 수정 시각 갱신과 GC 의 확인 후 삭제는 해시별 잠금으로 직렬화되므로, 갱신 직후의 blob 은 삭제되지 않음
+ */
+@Service
+@Slf4j
+public class ImageBlobStore {
+    public static final String URL_PREFIX = "/api/pipeline/blobs/";
+
+    private static final Pattern HASH = Pattern.compile("[a-f0-9]{64}");
+    private static final Pattern URL_HASH = Pattern.compile(Pattern.quote(URL_PREFIX) + "([a-f0-9]{64})$");
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final Path root;
+    private final Path tmp;
+    private final Duration gcGrace;
+    private final boolean sendfile;
+    private final EntityManager entityManager;
+
+    private final AtomicLong uploads = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong sendfileResponses = new AtomicLong();
+    private final AtomicLong transferResponses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    // 해시 앞 두 자리(첫 샤드 디렉터리)별 잠금
+    private final ReentrantLock[] locks = new ReentrantLock[256];
+
+    private final AtomicBoolean gcRunning = new AtomicBoolean();
+    private volatile Map<String, Object> lastGc = Map.of();
+
+    public ImageBlobStore(@Value("${pipeline.blob.dir:./data/blobs}") String dir,
+                          @Value("${pipeline.blob.gc-grace:24h}") Duration gcGrace,
+                          @Value("${pipeline.blob.sendfile:true}") boolean sendfile,
+                          EntityManager entityManager,
+                          MeterRegistry registry) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.tmp = root.resolve("tmp");
+        this.gcGrace = gcGrace;
+        this.sendfile = sendfile;
+        this.entityManager = entityManager;
+        Files.createDirectories(tmp);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        counter(registry, "labelai.blob.uploads", "업로드 건수 (중복 포함)", uploads, null, null);
+        counter(registry, "labelai.blob.deduplicated", "이미 저장된 이미지라 새로 쓰지 않은 업로드 건수", deduplicated, null, null);
+        counter(registry, "labelai.blob.written", "새로 기록한 바이트", bytesWritten, "bytes", null);
+        counter(registry, "labelai.blob.responses", "전송 방식별 응답 수", sendfileResponses, null, "sendfile");
+        counter(registry, "labelai.blob.responses", "전송 방식별 응답 수", transferResponses, null, "transfer");
+        counter(registry, "labelai.blob.served", "응답한 바이트", bytesServed, "bytes", null);
+    }
+
+    /**
+     * 업로드를 임시 파일로 받으면서 해시를 계산하고, 같은 blob 이 없을 때만 제자리로 이동 (원자적 rename)
+     */
+    public StoredBlob store(InputStreamSource source) throws IOException {
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(source.getInputStream(), digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(hash);
+
+            boolean existing;
+            ReentrantLock lock = lock(hash);
+            lock.lock();
+            try {
+                existing = Files.exists(target);
+                if (existing) {
+                    touch(target);
+                    deduplicated.incrementAndGet();
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    bytesWritten.addAndGet(size);
+                }
+            } finally {
+                lock.unlock();
+            }
+            uploads.incrementAndGet();
+            log.debug("[BLOB_STORED] hash={}, size={}, deduplicated={}", hash, size, existing);
+            return new StoredBlob(hash, size, contentType(target), URL_PREFIX + hash, existing);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = path(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * scan 저장 시 호출: 저장소 URL 이면 blob 이 있는지 확인하고 GC 유예 시각을 갱신 (외부 URL 은 그대로 허용)
+     */
+    public void retain(String imageUrl) {
+        String hash = hashOf(imageUrl);
+        if (hash == null) return;
+        ReentrantLock lock = lock(hash);
+        lock.lock();
+        try {
+            Path path = find(hash)
+                .orElseThrow(() -> new IllegalArgumentException("저장소에 없는 이미지입니다: " + hash));
+            touch(path);
+        } catch (IOException e) {
+            // 갱신하지 못하면 GC 가 scan 커밋 전에 지울 수 있으므로 저장을 거절
+            throw new UncheckedIOException("blob 수정 시각 갱신 실패: " + hash, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * [start, start + length) 구간 전송 (Content-Type / Content-Length / 상태 코드는 호출 측에서 설정)
+     */
+    public void send(Path path, long start, long length,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (length <= 0) return;
+        if (sendfile && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 핸들러가 끝난 뒤 Tomcat 이 커널 sendfile 로 전송
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            sendfileResponses.incrementAndGet();
+        } else {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                long remaining = length;
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, out);
+                    if (sent <= 0) throw new EOFException("blob 이 전송 중에 잘렸습니다: " + path.getFileName());
+                    position += sent;
+                    remaining -= sent;
+                }
+            }
+            transferResponses.incrementAndGet();
+        }
+        bytesServed.addAndGet(length);
+    }
+
+    public String contentType(Path path) {
+        byte[] head = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(path)) {
+            read = in.readNBytes(head, 0, head.length);
+        } catch (IOException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        if (read >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (read >= 4 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (read >= 4 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        if (read >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    /**
+     * GC 를 boundedElastic 에서 시작 (이미 실행 중이면 IllegalStateException)
+     */
+    public Map<String, Object> startGc() {
+        if (!gcRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("blob GC 가 이미 실행 중입니다");
+        }
+        Mono.fromRunnable(this::runGc)
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe();
+        return getStats();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dir", root.toString());
+        stats.put("uploads", uploads.get());
+        stats.put("deduplicated", deduplicated.get());
+        stats.put("bytesWritten", bytesWritten.get());
+        stats.put("sendfileResponses", sendfileResponses.get());
+        stats.put("transferResponses", transferResponses.get());
+        stats.put("bytesServed", bytesServed.get());
+        stats.put("gcRunning", gcRunning.get());
+        stats.put("lastGc", lastGc);
+        return stats;
+    }
+
+    private void runGc() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", LocalDateTime.now());
+        long scanned = 0;
+        long deleted = 0;
+        long bytesFreed = 0;
+        try {
+            Set<String> referenced = referencedHashes();
+            FileTime cutoff = FileTime.from(Instant.now().minus(gcGrace));
+            List<Path> candidates;
+            try (Stream<Path> files = Files.walk(root)) {
+                candidates = files.filter(Files::isRegularFile).toList();
+            }
+            for (Path file : candidates) {
+                boolean temp = file.startsWith(tmp);
+                String name = file.getFileName().toString();
+                if (!temp && !HASH.matcher(name).matches()) continue;
+                if (!temp) scanned++;
+                if (!temp && referenced.contains(name)) continue;
+                ReentrantLock lock = temp ? null : lock(name);
+                if (lock != null) lock.lock();
+                try {
+                    // 목록을 만든 뒤 업로드/저장으로 갱신됐을 수 있으므로 잠금을 잡고 삭제 직전에 다시 확인
+                    if (Files.getLastModifiedTime(file).compareTo(cutoff) >= 0) continue;
+                    long size = Files.size(file);
+                    if (Files.deleteIfExists(file)) {
+                        deleted++;
+                        bytesFreed += size;
+                    }
+                } catch (IOException e) {
+                    log.warn("blob 삭제 실패: file={}, error={}", file, e.getMessage());
+                } finally {
+                    if (lock != null) lock.unlock();
+                }
+            }
+            report.put("referenced", referenced.size());
+            log.info("blob GC 완료: scanned={}, deleted={}, bytesFreed={}", scanned, deleted, bytesFreed);
+        } catch (Exception e) {
+            report.put("error", e.getMessage());
+            log.error("blob GC 실패", e);
+        } finally {
+            report.put("scanned", scanned);
+            report.put("deleted", deleted);
+            report.put("bytesFreed", bytesFreed);
+            report.put("finishedAt", LocalDateTime.now());
+            lastGc = report;
+            gcRunning.set(false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> referencedHashes() {
+        List<Object> urls = entityManager.createNativeQuery(
+                "SELECT DISTINCT scan_image_url FROM scan WHERE scan_image_url LIKE ?1")
+            .setParameter(1, "%" + URL_PREFIX + "%")
+            .getResultList();
+        Set<String> hashes = new HashSet<>();
+        for (Object url : urls) {
+            String hash = hashOf(url != null ? url.toString() : null);
+            if (hash != null) hashes.add(hash);
+        }
+        return hashes;
+    }
+
+    private static String hashOf(String imageUrl) {
+        if (imageUrl == null) return null;
+        Matcher matcher = URL_HASH.matcher(imageUrl);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description,
+                                AtomicLong count, String baseUnit, String mode) {
+        FunctionCounter.Builder<AtomicLong> builder = FunctionCounter.builder(name, count, AtomicLong::get)
+            .description(description)
+            .baseUnit(baseUnit);
+        if (mode != null) builder.tag("mode", mode);
+        builder.register(registry);
+    }
+
+    private ReentrantLock lock(String hash) {
+        return locks[Integer.parseInt(hash, 0, 2, 16)];
+    }
+
+    private Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void touch(Path path) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.labelai.service;
+
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.dto.OcrResponse;
+import com.labelai.dto.PipelineRequest;
+import com.labelai.dto.PipelineResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OCR 전 이미지 정규화 (EXIF 회전 보정 → 최대 변 길이로 축소 → JPEG 재인코딩)
+ * 반환된 OCR 박스 좌표는 회전 보정된 원본 이미지 기준으로 되돌림
+ */
+@Service
+@Slf4j
+public class ImagePreprocessService {
+    private static final String NORMALIZED_CONTENT_TYPE = "image/jpeg";
+
+    private final FoodLabelApiClient apiClient;
+    private final Scheduler scheduler;
+    private final boolean enabled;
+    private final int maxEdge;
+    private final float quality;
+
+    private final AtomicLong normalizedCount = new AtomicLong();
+    private final AtomicLong passthroughCount = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong timeNanos = new AtomicLong();
+
+    public ImagePreprocessService(FoodLabelApiClient apiClient,
+                                  @Qualifier("imagePreprocessExecutor") ThreadPoolTaskExecutor executor,
+                                  @Value("${pipeline.preprocess.enabled:true}") boolean enabled,
+                                  @Value("${pipeline.preprocess.max-edge:2048}") int maxEdge,
+                                  @Value("${pipeline.preprocess.jpeg-quality:0.85}") float quality,
+                                  MeterRegistry registry) {
+        this.apiClient = apiClient;
+        this.scheduler = Schedulers.fromExecutor(executor);
+        this.enabled = enabled;
+        this.maxEdge = maxEdge;
+        this.quality = quality;
+        counter(registry, "labelai.ocr.preprocess.images", "이미지 정규화 결과별 건수", "result", "normalized", normalizedCount, null);
+        counter(registry, "labelai.ocr.preprocess.images", "이미지 정규화 결과별 건수", "result", "passthrough", passthroughCount, null);
+        counter(registry, "labelai.ocr.preprocess.bytes", "정규화한 이미지의 전/후 크기", "direction", "in", bytesIn, "bytes");
+        counter(registry, "labelai.ocr.preprocess.bytes", "정규화한 이미지의 전/후 크기", "direction", "out", bytesOut, "bytes");
+        FunctionCounter.builder("labelai.ocr.preprocess.time", timeNanos, nanos -> nanos.get() / 1e9)
+            .description("이미지 정규화 누적 소요 시간")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    public Mono<OcrResponse> extractTextAsync(InputStreamSource image, String filename, String contentType) {
+        return normalize(image, filename).flatMap(normalized -> normalized
+            .map(n -> apiClient.extractTextAsync(new ByteArrayResource(n.bytes()), n.filename(), NORMALIZED_CONTENT_TYPE)
+                .map(result -> rescale(result, n)))
+            .orElseGet(() -> apiClient.extractTextAsync(image, filename, contentType)));
+    }
+
+    public Mono<PipelineResponse> processFullPipelineAsync(PipelineRequest request) {
+        MultipartFile image = request.getImage();
+        return normalize(image, image.getOriginalFilename()).flatMap(normalized -> normalized
+            .map(n -> apiClient.processFullPipelineAsync(new ByteArrayResource(n.bytes()), n.filename(),
+                    NORMALIZED_CONTENT_TYPE, request.getTargetCountry(), request.getGenerateHtml())
+                .map(result -> {
+                    result.setOcr(rescale(result.getOcr(), n));
+                    return result;
+                }))
+            .orElseGet(() -> apiClient.processFullPipelineAsync(image, image.getOriginalFilename(),
+                image.getContentType(), request.getTargetCountry(), request.getGenerateHtml())));
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "enabled", enabled,
+            "normalized", normalizedCount.get(),
+            "passthrough", passthroughCount.get(),
+            "bytesIn", bytesIn.get(),
+            "bytesOut", bytesOut.get(),
+            "bytesSaved", bytesIn.get() - bytesOut.get(),
+            "timeSpentMs", timeNanos.get() / 1_000_000
+        );
+    }
+
+    /**
+     * 전용 CPU 풀에서 정규화 수행 (정규화 불필요/불가 시 empty → 원본 그대로 전송)
+     */
+    private Mono<Optional<NormalizedImage>> normalize(InputStreamSource image, String filename) {
+        if (!enabled) {
+            return Mono.just(Optional.empty());
+        }
+        return Mono.fromCallable(() -> doNormalize(image, filename))
+            .subscribeOn(scheduler);
+    }
+
+    private Optional<NormalizedImage> doNormalize(InputStreamSource image, String filename) {
+        long start = System.nanoTime();
+        try {
+            int orientation;
+            try (InputStream in = image.getInputStream()) {
+                orientation = readExifOrientation(in);
+            }
+
+            try (InputStream in = image.getInputStream();
+                 ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+                if (iis == null) return passthrough();
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+                if (!readers.hasNext()) return passthrough();
+
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(iis, true, true);
+                    int width = reader.getWidth(0);
+                    int height = reader.getHeight(0);
+                    int longEdge = Math.max(width, height);
+                    if (longEdge <= maxEdge && orientation == 1) return passthrough();
+
+                    // 디코딩 단계에서 정수배 서브샘플링으로 48MP 원본 전체 래스터를 만들지 않음
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    int subsampling = Math.max(1, longEdge / maxEdge);
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                    BufferedImage oriented = applyOrientation(reader.read(0, param), orientation);
+
+                    double scale = Math.min(1.0, (double) maxEdge / Math.max(oriented.getWidth(), oriented.getHeight()));
+                    int targetWidth = Math.max(1, (int) Math.round(oriented.getWidth() * scale));
+                    int targetHeight = Math.max(1, (int) Math.round(oriented.getHeight() * scale));
+
+                    BufferedImage output = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+                    Graphics2D g = output.createGraphics();
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, targetWidth, targetHeight);
+                    g.drawImage(oriented, 0, 0, targetWidth, targetHeight, null);
+                    g.dispose();
+
+                    byte[] bytes = encodeJpeg(output);
+                    long originalSize = sizeOf(image);
+                    if (orientation == 1 && originalSize > 0 && bytes.length >= originalSize) {
+                        return passthrough();
+                    }
+
+                    boolean swapped = orientation >= 5;
+                    int orientedWidth = swapped ? height : width;
+                    int orientedHeight = swapped ? width : height;
+
+                    normalizedCount.incrementAndGet();
+                    if (originalSize > 0) {
+                        bytesIn.addAndGet(originalSize);
+                        bytesOut.addAndGet(bytes.length);
+                    }
+                    log.debug("[IMAGE_NORMALIZED] {}x{} → {}x{}, bytes {} → {}",
+                        orientedWidth, orientedHeight, targetWidth, targetHeight, originalSize, bytes.length);
+                    return Optional.of(new NormalizedImage(bytes, jpegFilename(filename),
+                        (double) orientedWidth / targetWidth, (double) orientedHeight / targetHeight));
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("이미지 정규화 실패, 원본으로 전송: filename={}, error={}", filename, e.getMessage());
+            return passthrough();
+        } finally {
+            timeNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description,
+                                String tag, String value, AtomicLong count, String baseUnit) {
+        FunctionCounter.builder(name, count, AtomicLong::get)
+            .description(description)
+            .tag(tag, value)
+            .baseUnit(baseUnit)
+            .register(registry);
+    }
+
+    private Optional<NormalizedImage> passthrough() {
+        passthroughCount.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * 정규화 이미지 기준 박스 좌표를 (회전 보정된) 원본 좌표로 환산
+     */
+    private OcrResponse rescale(OcrResponse result, NormalizedImage n) {
+        if (result == null || result.getRawData() == null || result.getRawData().getBoxes() == null) {
+            return result;
+        }
+        result.getRawData().setBoxes(result.getRawData().getBoxes().scale(n.scaleX(), n.scaleY()));
+        return result;
+    }
+
+    private BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) return image;
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        AffineTransform t = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { t.scale(-1.0, 1.0); t.translate(-width, 0); }
+            case 3 -> { t.translate(width, height); t.rotate(Math.PI); }
+            case 4 -> { t.scale(1.0, -1.0); t.translate(0, -height); }
+            case 5 -> { t.rotate(-Math.PI / 2); t.scale(-1.0, 1.0); }
+            case 6 -> { t.translate(height, 0); t.rotate(Math.PI / 2); }
+            case 7 -> { t.scale(-1.0, 1.0); t.translate(-height, 0); t.translate(0, width); t.rotate(3 * Math.PI / 2); }
+            case 8 -> { t.translate(0, width); t.rotate(3 * Math.PI / 2); }
+            default -> { }
+        }
+
+        boolean swapped = orientation >= 5;
+        BufferedImage rotated = new BufferedImage(swapped ? height : width, swapped ? width : height,
+            BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = rotated.createGraphics();
+        g.drawImage(image, t, null);
+        g.dispose();
+        return rotated;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private long sizeOf(InputStreamSource image) throws IOException {
+        if (image instanceof MultipartFile file) return file.getSize();
+        if (image instanceof Resource resource) return resource.contentLength();
+        return -1;
+    }
+
+    private String jpegFilename(String filename) {
+        if (filename == null) return "image.jpg";
+        int dot = filename.lastIndexOf('.');
+        return (dot > 0 ? filename.substring(0, dot) : filename) + ".jpg";
+    }
+
+    /**
+     * JPEG APP1(Exif) 세그먼트의 Orientation(0x0112) 값 (없거나 JPEG 가 아니면 1)
+     */
+    private static int readExifOrientation(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        try {
+            if (in.readUnsignedShort() != 0xFFD8) return 1;
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) return 1;
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) return 1;
+                if (marker == 0xFFE1) {
+                    byte[] segment = new byte[length];
+                    in.readFully(segment);
+                    int orientation = parseExifOrientation(segment);
+                    if (orientation > 0) return orientation;
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    private static int parseExifOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x'
+                || segment[2] != 'i' || segment[3] != 'f') {
+            return 0;
+        }
+        int tiff = 6;
+        boolean littleEndian = segment[tiff] == 'I' && segment[tiff + 1] == 'I';
+        int ifd = tiff + readInt(segment, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > segment.length) return 0;
+
+        int entries = readShort(segment, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > segment.length) return 0;
+            if (readShort(segment, entry, littleEndian) == 0x0112) {
+                int value = readShort(segment, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] b, int offset, boolean littleEndian) {
+        return littleEndian
+            ? (b[offset] & 0xFF) | (b[offset + 1] & 0xFF) << 8
+            : (b[offset] & 0xFF) << 8 | (b[offset + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] b, int offset, boolean littleEndian) {
+        return littleEndian
+            ? readShort(b, offset, true) | readShort(b, offset + 2, true) << 16
+            : readShort(b, offset, false) << 16 | readShort(b, offset + 2, false);
+    }
+
+    private record NormalizedImage(byte[] bytes, String filename, double scaleX, double scaleY) { }
+}
@@ -0,0 +1,149 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 6902 JSON Patch 중 add / remove / replace 만 사용하는 diff / apply
+ * 객체는 키 단위로 재귀 비교, 배열은 같은 인덱스끼리 비교하고 길이 차이는 끝에서 remove / add 로 맞춤 (move / copy 는 만들지 않음)
+ */
+public final class JsonPatch {
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private JsonPatch() {
+    }
+
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode ops = NODES.arrayNode();
+        diff("", source, target, ops);
+        return ops;
+    }
+
+    public static JsonNode apply(JsonNode document, JsonNode patch) {
+        JsonNode result = document.deepCopy();
+        for (JsonNode op : patch) {
+            String name = op.path("op").asText();
+            String path = op.path("path").asText();
+            JsonNode value = op.get("value");
+
+            if (path.isEmpty()) {
+                if (!"replace".equals(name) && !"add".equals(name)) {
+                    throw new IllegalArgumentException("문서 루트에 적용할 수 없는 patch 연산: " + name);
+                }
+                result = value.deepCopy();
+                continue;
+            }
+
+            List<String> tokens = parsePointer(path);
+            JsonNode parent = result;
+            for (int i = 0; i < tokens.size() - 1; i++) {
+                parent = child(parent, tokens.get(i), path);
+            }
+            String last = tokens.get(tokens.size() - 1);
+
+            switch (name) {
+                case "add" -> {
+                    if (parent instanceof ObjectNode object) {
+                        object.set(last, value.deepCopy());
+                    } else if (parent instanceof ArrayNode array) {
+                        if ("-".equals(last)) array.add(value.deepCopy());
+                        else array.insert(index(last, array.size() + 1, path), value.deepCopy());
+                    } else {
+                        throw new IllegalArgumentException("patch 경로가 컨테이너가 아닙니다: " + path);
+                    }
+                }
+                case "remove" -> {
+                    if (parent instanceof ObjectNode object && object.has(last)) object.remove(last);
+                    else if (parent instanceof ArrayNode array) array.remove(index(last, array.size(), path));
+                    else throw new IllegalArgumentException("patch 경로를 찾을 수 없습니다: " + path);
+                }
+                case "replace" -> {
+                    if (parent instanceof ObjectNode object && object.has(last)) object.set(last, value.deepCopy());
+                    else if (parent instanceof ArrayNode array) array.set(index(last, array.size(), path), value.deepCopy());
+                    else throw new IllegalArgumentException("patch 경로를 찾을 수 없습니다: " + path);
+                }
+                default -> throw new IllegalArgumentException("지원하지 않는 patch 연산: " + name);
+            }
+        }
+        return result;
+    }
+
+    private static void diff(String path, JsonNode source, JsonNode target, ArrayNode ops) {
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            Iterator<String> names = source.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!target.has(name)) {
+                    ops.addObject().put("op", "remove").put("path", path + "/" + escape(name));
+                }
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = target.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String childPath = path + "/" + escape(field.getKey());
+                JsonNode previous = source.get(field.getKey());
+                if (previous == null) {
+                    ops.addObject().put("op", "add").put("path", childPath).set("value", field.getValue());
+                } else {
+                    diff(childPath, previous, field.getValue(), ops);
+                }
+            }
+        } else if (source.isArray() && target.isArray()) {
+            int common = Math.min(source.size(), target.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + i, source.get(i), target.get(i), ops);
+            }
+            for (int i = source.size() - 1; i >= target.size(); i--) {
+                ops.addObject().put("op", "remove").put("path", path + "/" + i);
+            }
+            for (int i = source.size(); i < target.size(); i++) {
+                ops.addObject().put("op", "add").put("path", path + "/" + i).set("value", target.get(i));
+            }
+        } else {
+            ops.addObject().put("op", "replace").put("path", path).set("value", target);
+        }
+    }
+
+    private static JsonNode child(JsonNode node, String token, String path) {
+        JsonNode child = node.isArray() ? node.get(index(token, node.size(), path)) : node.get(token);
+        if (child == null) {
+            throw new IllegalArgumentException("patch 경로를 찾을 수 없습니다: " + path);
+        }
+        return child;
+    }
+
+    private static int index(String token, int bound, String path) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index >= 0 && index < bound) return index;
+        } catch (NumberFormatException ignored) {
+            // 아래에서 처리
+        }
+        throw new IllegalArgumentException("patch 배열 인덱스가 잘못되었습니다: " + path);
+    }
+
+    private static List<String> parsePointer(String path) {
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException("JSON Pointer 형식이 아닙니다: " + path);
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : path.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return tokens;
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
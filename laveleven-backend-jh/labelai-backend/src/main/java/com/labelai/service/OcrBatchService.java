@@ -0,0 +1,197 @@
+package com.labelai.service;
+
+import com.labelai.api.ConcurrencyLimitExceededException;
+import com.labelai.api.Deadline;
+import com.labelai.api.ModelServerConcurrencyLimiters;
+import com.labelai.dto.OcrBatchResult;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 다건 OCR: 파일(또는 zip 내 이미지)을 제한된 동시성으로 모델 서버에 보내고 완료 순서대로 결과를 흘려보냄
+ * 기한은 스트림 전체가 아니라 항목마다 처리를 시작할 때 새로 적용 (단건 /ocr 과 같은 pipeline.deadline.endpoints.ocr)
+ */
+@Service
+@Slf4j
+public class OcrBatchService {
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final OcrCacheService ocrCacheService;
+    private final ModelServerConcurrencyLimiters concurrencyLimiters;
+    private final int concurrency;
+    private final int maxFiles;
+    private final long maxEntryBytes;
+    private final long maxTotalBytes;
+    private final Duration itemTimeout;
+
+    public OcrBatchService(OcrCacheService ocrCacheService,
+                           ModelServerConcurrencyLimiters concurrencyLimiters,
+                           @Value("${pipeline.batch.concurrency:8}") int concurrency,
+                           @Value("${pipeline.batch.max-files:500}") int maxFiles,
+                           @Value("${pipeline.batch.max-entry-bytes:50MB}") DataSize maxEntryBytes,
+                           @Value("${pipeline.batch.max-total-bytes:1GB}") DataSize maxTotalBytes,
+                           @Value("${pipeline.deadline.endpoints.ocr:${pipeline.deadline.default:120s}}") Duration itemTimeout) {
+        this.ocrCacheService = ocrCacheService;
+        this.concurrencyLimiters = concurrencyLimiters;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxFiles = maxFiles;
+        this.maxEntryBytes = maxEntryBytes.toBytes();
+        this.maxTotalBytes = maxTotalBytes.toBytes();
+        this.itemTimeout = itemTimeout;
+    }
+
+    public Flux<OcrBatchResult> processBatch(List<MultipartFile> files, boolean useCache) throws IOException {
+        List<BatchEntry> entries = new ArrayList<>();
+        List<Path> tempDirs = new ArrayList<>();
+        long unzippedBytes = 0;
+        try {
+            for (MultipartFile file : files) {
+                if (isZip(file)) {
+                    Path dir = Files.createTempDirectory("ocr-batch-");
+                    tempDirs.add(dir);
+                    unzippedBytes = unzip(file, dir, entries, unzippedBytes);
+                } else {
+                    entries.add(new BatchEntry(file.getOriginalFilename(), file.getContentType(), file));
+                }
+                if (entries.size() > maxFiles) {
+                    throw new IllegalArgumentException("한 번에 처리할 수 있는 이미지는 최대 " + maxFiles + "개입니다");
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            tempDirs.forEach(OcrBatchService::deleteRecursively);
+            throw e;
+        }
+
+        // 현재 동시성 제어 모드의 한도를 넘겨 요청하면 즉시 거절되므로 그 이하로 제한
+        int concurrency = Math.max(1, Math.min(this.concurrency, concurrencyLimiters.maxConcurrency("/ocr")));
+        log.info("[OCR_BATCH_START] files={}, concurrency={}", entries.size(), concurrency);
+        return Flux.range(0, entries.size())
+            .flatMap(index -> processOne(index, entries.get(index), useCache), concurrency)
+            .doFinally(signal -> tempDirs.forEach(OcrBatchService::deleteRecursively));
+    }
+
+    private Mono<OcrBatchResult> processOne(int index, BatchEntry entry, boolean useCache) {
+        // 해시/캐시 조회는 블로킹 I/O 이므로 Netty 이벤트 루프가 아닌 boundedElastic 에서 시작
+        return Mono.defer(() -> {
+                try {
+                    return ocrCacheService.extractTextAsync(entry.source(), entry.filename(), entry.contentType(), useCache);
+                } catch (IOException e) {
+                    return Mono.error(e);
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .retryWhen(Retry.backoff(3, Duration.ofMillis(200))
+                .filter(e -> e instanceof BulkheadFullException || e instanceof ConcurrencyLimitExceededException))
+            // flatMap 이 항목을 구독하는 시점(동시성 슬롯이 빈 시점)에 기한 시작, 재시도 대기도 포함
+            .contextWrite(context -> context.put(Deadline.class, Deadline.after(itemTimeout)))
+            .map(result -> OcrBatchResult.builder()
+                .index(index)
+                .filename(entry.filename())
+                .result(result)
+                .build())
+            .onErrorResume(e -> {
+                log.warn("[OCR_BATCH_ITEM_FAILED] filename={}, error={}", entry.filename(), e.getMessage());
+                return Mono.just(OcrBatchResult.builder()
+                    .index(index)
+                    .filename(entry.filename())
+                    .error(e.getMessage())
+                    .build());
+            });
+    }
+
+    private boolean isZip(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return "application/zip".equals(file.getContentType())
+            || "application/x-zip-compressed".equals(file.getContentType())
+            || (name != null && name.toLowerCase().endsWith(".zip"));
+    }
+
+    /**
+     * zip 항목을 임시 파일로 풀어 둠 (항목 이름은 경로로 쓰지 않으므로 zip-slip 영향 없음)
+     * 항목별/배치 전체 압축 해제 크기가 한도를 넘으면 배치 전체를 거절 (zip bomb), 반환값은 지금까지 푼 총 바이트
+     */
+    private long unzip(MultipartFile file, Path dir, List<BatchEntry> entries, long unzippedBytes) throws IOException {
+        try (InputStream in = file.getInputStream(); ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                if (zipEntry.isDirectory()) continue;
+                if (entries.size() >= maxFiles) {
+                    throw new IllegalArgumentException("한 번에 처리할 수 있는 이미지는 최대 " + maxFiles + "개입니다");
+                }
+                String name = zipEntry.getName();
+                String filename = name.substring(name.lastIndexOf('/') + 1);
+                Path target = dir.resolve(String.valueOf(entries.size()));
+                unzippedBytes = copyBounded(zip, target, unzippedBytes);
+                String contentType = MediaTypeFactory.getMediaType(filename)
+                    .map(MediaType::toString)
+                    .orElse(null);
+                entries.add(new BatchEntry(filename, contentType, new FileSystemResource(target)));
+            }
+        }
+        return unzippedBytes;
+    }
+
+    /**
+     * 헤더의 크기 정보는 믿을 수 없으므로 실제로 읽은 바이트로 한도 확인
+     */
+    private long copyBounded(InputStream in, Path target, long unzippedBytes) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long entryBytes = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                entryBytes += read;
+                unzippedBytes += read;
+                if (entryBytes > maxEntryBytes) {
+                    throw new IllegalArgumentException("zip 항목의 압축 해제 크기가 최대 " + maxEntryBytes + " bytes 를 넘습니다");
+                }
+                if (unzippedBytes > maxTotalBytes) {
+                    throw new IllegalArgumentException("zip 의 압축 해제 크기가 최대 " + maxTotalBytes + " bytes 를 넘습니다");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return unzippedBytes;
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패: {}", path);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("임시 디렉터리 삭제 실패: {}", dir);
+        }
+    }
+
+    private record BatchEntry(String filename, String contentType, InputStreamSource source) { }
+}
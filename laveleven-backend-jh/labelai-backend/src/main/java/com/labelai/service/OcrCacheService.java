@@ -0,0 +1,227 @@
+package com.labelai.service;
+
+import com.labelai.api.Deadline;
+import com.labelai.api.DeadlineExceededException;
+import com.labelai.dto.OcrResponse;
+import com.labelai.entity.Scan;
+import com.labelai.repository.ScanRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 이미지 내용(SHA-256) 기준 OCR 결과 캐시
+ * 1차: 메모리 LRU, 2차: scan.scan_meta (image_hash 로 조회)
+ * 같은 이미지의 OCR 이 진행 중이면 새로 호출하지 않고 그 결과를 공유 (재촬영/중복 제출이 동시에 들어와도 모델 호출은 한 번)
+ */
+@Service
+@Slf4j
+public class OcrCacheService {
+    private final ImagePreprocessService imagePreprocessService;
+    private final ScanRepository scanRepository;
+    private final boolean enabled;
+    private final Map<String, OcrResponse> memory;
+    // 진행 중인 OCR (이미지 해시 → 공유 Mono 와 그 호출의 기한)
+    private final Map<String, InflightOcr> inflight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public OcrCacheService(ImagePreprocessService imagePreprocessService,
+                           ScanRepository scanRepository,
+                           @Value("${pipeline.ocr-cache.enabled:true}") boolean enabled,
+                           @Value("${pipeline.ocr-cache.max-entries:500}") int maxEntries,
+                           MeterRegistry registry) {
+        this.imagePreprocessService = imagePreprocessService;
+        this.scanRepository = scanRepository;
+        this.enabled = enabled;
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<String, OcrResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OcrResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        lookupCounter(registry, "memory_hit", memoryHits);
+        lookupCounter(registry, "persistent_hit", persistentHits);
+        lookupCounter(registry, "miss", misses);
+        lookupCounter(registry, "bypass", bypasses);
+        Gauge.builder("labelai.ocr.cache.entries", memory, Map::size)
+            .description("OCR 메모리 캐시 항목 수")
+            .register(registry);
+        FunctionCounter.builder("labelai.ocr.cache.coalesced", coalesced, AtomicLong::get)
+            .description("캐시 미스 중 진행 중인 같은 이미지의 OCR 에 합류한 건수")
+            .register(registry);
+    }
+
+    public Mono<OcrResponse> extractTextAsync(MultipartFile image, boolean useCache) throws Exception {
+        return extractTextAsync(image, image.getOriginalFilename(), image.getContentType(), useCache);
+    }
+
+    /**
+     * 해시 계산과 2차 캐시 조회는 블로킹 I/O 이므로 호출 스레드에서 수행됨
+     */
+    public Mono<OcrResponse> extractTextAsync(InputStreamSource image, String filename,
+                                              String contentType, boolean useCache) throws IOException {
+        if (!enabled || !useCache) {
+            bypasses.incrementAndGet();
+            return imagePreprocessService.extractTextAsync(image, filename, contentType);
+        }
+
+        String hash;
+        try (InputStream in = image.getInputStream()) {
+            hash = sha256(in);
+        }
+        OcrResponse cached = lookup(hash);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return singleFlight(hash, () -> imagePreprocessService.extractTextAsync(image, filename, contentType)
+            .doOnNext(result -> remember(hash, result)));
+    }
+
+    /**
+     * FoodLabelApiClient.coalesce 와 같은 규칙: 먼저 온 요청의 Deadline 으로 끊기는 공유 호출에는
+     * 그보다 기한이 짧거나 같은 요청만 합류하고, 합류한 요청은 자기 기한으로 다시 끊음
+     */
+    private Mono<OcrResponse> singleFlight(String hash, Supplier<Mono<OcrResponse>> call) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            AtomicBoolean leader = new AtomicBoolean();
+            InflightOcr shared = inflight.computeIfAbsent(hash, k -> {
+                leader.set(true);
+                return new InflightOcr(call.get()
+                    .doFinally(signal -> inflight.remove(k))
+                    .cache(), deadline);
+            });
+            if (leader.get()) {
+                return shared.call();
+            }
+            if (!shared.covers(deadline)) {
+                return call.get();
+            }
+            coalesced.incrementAndGet();
+            log.debug("[OCR_COALESCED] hash={}", hash);
+            return deadline != null
+                ? shared.call().timeout(deadline.remaining(), Mono.error(new DeadlineExceededException("/ocr")))
+                : shared.call();
+        });
+    }
+
+    /**
+     * 블로킹 경로 (비동기 작업 워커 등)
+     */
+    public OcrResponse extractText(InputStreamSource image, String filename, String contentType) throws IOException {
+        return extractTextAsync(image, filename, contentType, true).block();
+    }
+
+    /**
+     * 저장 요청에 포함된 해시가 이 서버가 해당 OCR 결과에 대해 발급한 값인지 확인
+     * (클라이언트가 임의 해시로 다른 이미지의 캐시를 오염시키지 못하도록)
+     */
+    public String verifiedHash(OcrResponse ocrResult) {
+        if (ocrResult == null || ocrResult.getImageHash() == null) return null;
+        OcrResponse cached = memory.get(ocrResult.getImageHash());
+        if (cached != null && Objects.equals(cached.getTexts(), ocrResult.getTexts())) {
+            return ocrResult.getImageHash();
+        }
+        return null;
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "enabled", enabled,
+            "entries", memory.size(),
+            "memoryHits", memoryHits.get(),
+            "persistentHits", persistentHits.get(),
+            "misses", misses.get(),
+            "bypasses", bypasses.get(),
+            "coalesced", coalesced.get(),
+            "inflight", inflight.size()
+        );
+    }
+
+    private static void lookupCounter(MeterRegistry registry, String result, AtomicLong count) {
+        FunctionCounter.builder("labelai.ocr.cache.lookups", count, AtomicLong::get)
+            .description("OCR 캐시 조회 결과별 건수")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private OcrResponse lookup(String hash) {
+        OcrResponse cached = memory.get(hash);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            log.debug("[OCR_CACHE_HIT] tier=memory, hash={}", hash);
+            return cached;
+        }
+
+        Scan scan;
+        try {
+            scan = scanRepository.findFirstByImageHashOrderByCreatedAtDesc(hash).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("캐시된 scan_meta 읽기 실패: hash={}, error={}", hash, e.getMessage());
+            scan = null;
+        }
+        if (scan != null && scan.getScanMeta() != null) {
+            OcrResponse stored = scan.getScanMeta();
+            stored.setImageHash(hash);
+            memory.put(hash, stored);
+            persistentHits.incrementAndGet();
+            log.debug("[OCR_CACHE_HIT] tier=scan, hash={}", hash);
+            return stored;
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private void remember(String hash, OcrResponse result) {
+        result.setImageHash(hash);
+        memory.put(hash, result);
+    }
+
+    private record InflightOcr(Mono<OcrResponse> call, Deadline deadline) {
+        boolean covers(Deadline other) {
+            if (deadline == null) return true;
+            return other != null && other.expiresAtNanos() - deadline.expiresAtNanos() <= 0;
+        }
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
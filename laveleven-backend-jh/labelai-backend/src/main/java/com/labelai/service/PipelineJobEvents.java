@@ -0,0 +1,63 @@
+package com.labelai.service;
+
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실행 중인 파이프라인 작업의 단계별 결과 이벤트 (SSE 구독용)
+ * 작업마다 replay 싱크를 두어 늦게 구독해도 이 JVM 에서 실행된 단계는 모두 받음
+ */
+@Component
+public class PipelineJobEvents {
+    public static final String EVENT_OCR = "ocr";
+    public static final String EVENT_STRUCTURE = "structure";
+    public static final String EVENT_TRANSLATE = "translate";
+    public static final String EVENT_HTML = "html";
+    public static final String EVENT_DONE = "done";
+    public static final String EVENT_ERROR = "error";
+    public static final String EVENT_STATUS = "status";
+
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+
+    private final Map<String, Sinks.Many<ServerSentEvent<Object>>> sinks = new ConcurrentHashMap<>();
+
+    void open(String jobId) {
+        sinks.computeIfAbsent(jobId, id -> Sinks.many().replay().all());
+    }
+
+    void publish(String jobId, String event, Object data) {
+        Sinks.Many<ServerSentEvent<Object>> sink = sinks.get(jobId);
+        if (sink != null) {
+            sink.emitNext(toEvent(event, data), Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+        }
+    }
+
+    /**
+     * 종료 이벤트 발행 후 싱크 제거 (작업 상태는 반드시 DB 저장 후 호출)
+     */
+    void close(String jobId, String event, Object data) {
+        Sinks.Many<ServerSentEvent<Object>> sink = sinks.remove(jobId);
+        if (sink != null) {
+            sink.emitNext(toEvent(event, data), Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+            sink.emitComplete(Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+        }
+    }
+
+    /**
+     * 실행 중이 아니면 null
+     */
+    Flux<ServerSentEvent<Object>> live(String jobId) {
+        Sinks.Many<ServerSentEvent<Object>> sink = sinks.get(jobId);
+        return sink != null ? sink.asFlux() : null;
+    }
+
+    public static ServerSentEvent<Object> toEvent(String event, Object data) {
+        return ServerSentEvent.builder(data).event(event).id(event).build();
+    }
+}
@@ -0,0 +1,382 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.api.Deadline;
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.dto.*;
+import com.labelai.entity.PipelineJob;
+import com.labelai.entity.User;
+import com.labelai.repository.PipelineJobRepository;
+import com.labelai.repository.UserRepository;
+import com.labelai.security.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PipelineJobService {
+    private static final Duration STREAM_HEARTBEAT = Duration.ofSeconds(15);
+    private static final Set<String> STREAM_TERMINAL_EVENTS = Set.of(
+        PipelineJobEvents.EVENT_DONE, PipelineJobEvents.EVENT_ERROR, PipelineJobEvents.EVENT_STATUS);
+
+    private final PipelineJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final PipelineService pipelineService;
+    private final FoodLabelApiClient apiClient;
+    private final OcrCacheService ocrCacheService;
+    private final TranslateCacheService translateCacheService;
+    private final PermissionService permissionService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor pipelineJobExecutor;
+    private final PipelineJobEvents jobEvents;
+    private final Environment environment;
+
+    // 재시작 후 대기열이 가득 차 아직 넣지 못한 재개 작업 (PENDING/RUNNING 그대로, 작업이 끝날 때마다 다시 넣어 봄)
+    private final ConcurrentLinkedDeque<String> resumeBacklog = new ConcurrentLinkedDeque<>();
+
+    @Value("${pipeline.job.spool-dir:./data/jobs}")
+    private String spoolDir;
+
+    @Value("${pipeline.deadline.default:120s}")
+    private Duration defaultDeadline;
+
+    /**
+     * 작업 등록: 이미지를 스풀 디렉터리에 보관하고 즉시 jobId 반환
+     */
+    public PipelineJobDTO submit(MultipartFile file, String targetCountry, Boolean generateHtml) throws Exception {
+        CustomUserDetails currentUser = permissionService.getCurrentUser();
+        User creator = userRepository.findById(currentUser.getUserId())
+            .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        String jobId = UUID.randomUUID().toString();
+        Path dir = Paths.get(spoolDir);
+        Files.createDirectories(dir);
+        Path imagePath = dir.resolve(jobId);
+        file.transferTo(imagePath);
+
+        PipelineJob job = PipelineJob.builder()
+            .id(jobId)
+            .status(PipelineJob.STATUS_PENDING)
+            .currentStage(PipelineJob.STAGE_OCR)
+            .targetCountry(targetCountry)
+            .generateHtml(Boolean.TRUE.equals(generateHtml))
+            .imagePath(imagePath.toString())
+            .imageFilename(file.getOriginalFilename())
+            .imageContentType(file.getContentType())
+            .createdBy(creator)
+            .build();
+        job = jobRepository.save(job);
+
+        enqueue(jobId);
+        log.info("파이프라인 작업 등록: jobId={}, user={}", jobId, creator.getUsername());
+        return convertToDTO(job);
+    }
+
+    /**
+     * 작업 상태/단계별 결과 조회
+     */
+    @Transactional(readOnly = true)
+    public PipelineJobDTO getJob(String jobId) throws Exception {
+        return convertToDTO(findAccessibleJob(jobId));
+    }
+
+    /**
+     * 단계별 결과 SSE 스트림: 이미 저장된 단계는 즉시, 이후 단계는 완료되는 대로 전송
+     * 재연결해도 같은 작업을 구독할 뿐 모델 호출을 다시 하지 않음
+     * (live 싱크를 스냅샷보다 먼저 잡아야 그 사이 완료된 단계를 놓치지 않음)
+     */
+    @Transactional(readOnly = true)
+    public Flux<ServerSentEvent<Object>> stream(String jobId) throws Exception {
+        PipelineJob job = findAccessibleJob(jobId);
+        Flux<ServerSentEvent<Object>> live = jobEvents.live(jobId);
+        PipelineJobDTO snapshot = convertToDTO(job);
+
+        List<ServerSentEvent<Object>> stored = snapshotEvents(snapshot);
+        Set<String> sent = new HashSet<>();
+        stored.forEach(event -> sent.add(event.event()));
+
+        Flux<ServerSentEvent<Object>> stages;
+        if (PipelineJob.STATUS_COMPLETED.equals(snapshot.getStatus())) {
+            stages = Flux.concat(Flux.fromIterable(stored),
+                Flux.just(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_DONE, statusPayload(snapshot))));
+        } else if (PipelineJob.STATUS_FAILED.equals(snapshot.getStatus())) {
+            stages = Flux.concat(Flux.fromIterable(stored),
+                Flux.just(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_ERROR, errorPayload(snapshot.getError()))));
+        } else if (live != null) {
+            stages = Flux.concat(Flux.fromIterable(stored), live.filter(event -> !sent.contains(event.event())));
+        } else {
+            // 이 인스턴스에서 실행 중이 아님 (재개 대기 등): 현재 상태만 알리고 종료, 클라이언트는 재연결
+            stages = Flux.concat(Flux.fromIterable(stored),
+                Flux.just(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_STATUS, statusPayload(snapshot))));
+        }
+
+        Flux<ServerSentEvent<Object>> heartbeat = Flux.interval(STREAM_HEARTBEAT)
+            .map(tick -> ServerSentEvent.<Object>builder().comment("keepalive").build());
+        return Flux.merge(stages, heartbeat)
+            .takeUntil(event -> event.event() != null && STREAM_TERMINAL_EVENTS.contains(event.event()));
+    }
+
+    /**
+     * 재시작 시 미완료 작업을 마지막 완료 단계 이후부터 재개
+     * 대기열에 다 들어가지 않으면 나머지는 상태와 스풀 이미지를 그대로 두고 작업 슬롯이 빌 때마다 이어서 넣음
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<PipelineJob> jobs = jobRepository.findByStatusInOrderByCreatedAtAsc(
+            List.of(PipelineJob.STATUS_PENDING, PipelineJob.STATUS_RUNNING));
+        for (PipelineJob job : jobs) {
+            log.info("미완료 파이프라인 작업 재개: jobId={}, stage={}", job.getId(), job.getCurrentStage());
+            resumeBacklog.addLast(job.getId());
+        }
+        drainResumeBacklog();
+    }
+
+    private void drainResumeBacklog() {
+        String jobId;
+        while ((jobId = resumeBacklog.pollFirst()) != null) {
+            String id = jobId;
+            jobEvents.open(id);
+            try {
+                pipelineJobExecutor.execute(() -> runJob(id));
+            } catch (TaskRejectedException e) {
+                resumeBacklog.addFirst(id);
+                log.info("작업 대기열이 가득 차 재개를 미룸: 남은 작업={}", resumeBacklog.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 새 작업 등록용: 대기열이 가득 차면 작업을 실패 처리 (재개 작업은 drainResumeBacklog)
+     */
+    private void enqueue(String jobId) {
+        jobEvents.open(jobId);
+        try {
+            pipelineJobExecutor.execute(() -> runJob(jobId));
+        } catch (TaskRejectedException e) {
+            jobEvents.close(jobId, PipelineJobEvents.EVENT_ERROR, errorPayload("작업 대기열이 가득 찼습니다"));
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(PipelineJob.STATUS_FAILED);
+                job.setErrorMessage("작업 대기열이 가득 찼습니다");
+                jobRepository.save(job);
+                deleteSpooledImage(job);
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * 단계별 실행: 이미 저장된 단계 결과는 건너뛰고, 각 단계 완료 시마다 결과를 저장
+     */
+    private void runJob(String jobId) {
+        try {
+            executeJob(jobId);
+        } finally {
+            // 작업 슬롯이 비었으므로 남은 재개 작업을 이어서 넣음
+            drainResumeBacklog();
+        }
+    }
+
+    private void executeJob(String jobId) {
+        PipelineJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            jobEvents.close(jobId, PipelineJobEvents.EVENT_ERROR, errorPayload("작업을 찾을 수 없습니다"));
+            return;
+        }
+        if (PipelineJob.STATUS_COMPLETED.equals(job.getStatus())) {
+            jobEvents.close(jobId, PipelineJobEvents.EVENT_DONE, statusPayload(job.getId(), job.getStatus(), job.getCurrentStage()));
+            return;
+        }
+
+        try {
+            job.setStatus(PipelineJob.STATUS_RUNNING);
+            job = jobRepository.save(job);
+
+            OcrResponse ocr;
+            if (job.getOcrResult() == null) {
+                Path imagePath = Paths.get(job.getImagePath());
+                if (!Files.exists(imagePath)) {
+                    throw new IllegalStateException("작업 이미지가 존재하지 않습니다");
+                }
+                ocr = await("ocr", ocrCacheService.extractTextAsync(new FileSystemResource(imagePath),
+                    job.getImageFilename(), job.getImageContentType(), true));
+                job.setOcrResult(objectMapper.writeValueAsString(ocr));
+                job.setCurrentStage(PipelineJob.STAGE_STRUCTURE);
+                job = jobRepository.save(job);
+                jobEvents.publish(jobId, PipelineJobEvents.EVENT_OCR, ocr);
+            } else {
+                ocr = objectMapper.readValue(job.getOcrResult(), OcrResponse.class);
+            }
+
+            StructureResponse structure;
+            if (job.getStructureResult() == null) {
+                structure = await("structure", apiClient.structureDataAsync(pipelineService.toStructureRequest(ocr)));
+                job.setStructureResult(objectMapper.writeValueAsString(structure));
+                job.setCurrentStage(PipelineJob.STAGE_TRANSLATE);
+                job = jobRepository.save(job);
+                jobEvents.publish(jobId, PipelineJobEvents.EVENT_STRUCTURE, structure.getData());
+            } else {
+                structure = objectMapper.readValue(job.getStructureResult(), StructureResponse.class);
+            }
+
+            TranslateResponse translated = null;
+            if (job.getTargetCountry() != null) {
+                if (job.getTranslateResult() == null) {
+                    translated = await("translate", translateCacheService.translateAsync(
+                        pipelineService.toTranslateRequest(ocr, structure, job.getTargetCountry())));
+                    job.setTranslateResult(objectMapper.writeValueAsString(translated));
+                    job.setCurrentStage(PipelineJob.STAGE_HTML);
+                    job = jobRepository.save(job);
+                    jobEvents.publish(jobId, PipelineJobEvents.EVENT_TRANSLATE, translated.getTranslatedData());
+                } else {
+                    translated = objectMapper.readValue(job.getTranslateResult(), TranslateResponse.class);
+                }
+            }
+
+            if (Boolean.TRUE.equals(job.getGenerateHtml()) && job.getHtmlResult() == null) {
+                String html = await("html", apiClient.generateHtmlAsync(
+                    pipelineService.toHtmlRequest(ocr, structure, translated, job.getTargetCountry())));
+                job.setHtmlResult(html);
+                job = jobRepository.save(job);
+                jobEvents.publish(jobId, PipelineJobEvents.EVENT_HTML, Map.of("html", html));
+            }
+
+            job.setStatus(PipelineJob.STATUS_COMPLETED);
+            job.setCurrentStage(PipelineJob.STAGE_DONE);
+            job = jobRepository.save(job);
+            log.info("[PIPELINE_JOB_SUCCESS] jobId={}", jobId);
+            jobEvents.close(jobId, PipelineJobEvents.EVENT_DONE, statusPayload(jobId, job.getStatus(), job.getCurrentStage()));
+        } catch (Exception e) {
+            log.error("[PIPELINE_JOB_FAILED] jobId={}, stage={}, error={}", jobId, job.getCurrentStage(), e.getMessage());
+            job.setStatus(PipelineJob.STATUS_FAILED);
+            job.setErrorMessage(e.getMessage());
+            jobRepository.save(job);
+            jobEvents.close(jobId, PipelineJobEvents.EVENT_ERROR, errorPayload(e.getMessage()));
+        } finally {
+            // 완료/실패로 끝난 작업은 다시 실행되지 않으므로 스풀 이미지 삭제 (실행 중 종료되면 재개를 위해 남겨 둠)
+            if (PipelineJob.STATUS_COMPLETED.equals(job.getStatus()) || PipelineJob.STATUS_FAILED.equals(job.getStatus())) {
+                deleteSpooledImage(job);
+            }
+        }
+    }
+
+    /**
+     * 단계별 모델 호출에 Deadline 적용 (pipeline.deadline.endpoints.<단계>, 없으면 pipeline.deadline.default)
+     * 작업은 재시작 후 재개될 수 있으므로 작업 전체가 아닌 단계마다 새 기한을 둠
+     */
+    private <T> T await(String stage, Mono<T> call) {
+        Deadline deadline = Deadline.after(environment.getProperty(
+            "pipeline.deadline.endpoints." + stage, Duration.class, defaultDeadline));
+        return call.contextWrite(context -> context.put(Deadline.class, deadline)).block();
+    }
+
+    private void deleteSpooledImage(PipelineJob job) {
+        if (job.getImagePath() == null) return;
+        try {
+            Files.deleteIfExists(Paths.get(job.getImagePath()));
+        } catch (Exception e) {
+            log.warn("작업 이미지 삭제 실패: jobId={}, error={}", job.getId(), e.getMessage());
+        }
+    }
+
+    private PipelineJob findAccessibleJob(String jobId) {
+        PipelineJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new IllegalArgumentException("작업을 찾을 수 없습니다"));
+        checkAccess(job);
+        return job;
+    }
+
+    private List<ServerSentEvent<Object>> snapshotEvents(PipelineJobDTO job) {
+        List<ServerSentEvent<Object>> events = new ArrayList<>();
+        if (job.getOcr() != null) {
+            events.add(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_OCR, job.getOcr()));
+        }
+        if (job.getStructuredData() != null) {
+            events.add(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_STRUCTURE, job.getStructuredData()));
+        }
+        if (job.getTranslatedData() != null) {
+            events.add(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_TRANSLATE, job.getTranslatedData()));
+        }
+        if (job.getHtml() != null) {
+            events.add(PipelineJobEvents.toEvent(PipelineJobEvents.EVENT_HTML, Map.of("html", job.getHtml())));
+        }
+        return events;
+    }
+
+    private static Map<String, Object> statusPayload(PipelineJobDTO job) {
+        return statusPayload(job.getJobId(), job.getStatus(), job.getCurrentStage());
+    }
+
+    private static Map<String, Object> statusPayload(String jobId, String status, String currentStage) {
+        return Map.of("jobId", jobId, "status", status, "currentStage", currentStage);
+    }
+
+    private static Map<String, Object> errorPayload(String message) {
+        return Map.of("error", message != null ? message : "알 수 없는 오류");
+    }
+
+    private void checkAccess(PipelineJob job) {
+        if (permissionService.isSuperAdmin()) return;
+
+        CustomUserDetails currentUser = permissionService.getCurrentUser();
+        User creator = job.getCreatedBy();
+        if (permissionService.isAdmin()) {
+            if (creator.getDepartmentId() == null
+                    || !creator.getDepartmentId().equals(currentUser.getDepartmentId())) {
+                throw new AccessDeniedException("다른 부서의 작업에 접근할 수 없습니다");
+            }
+        } else if (!creator.getId().equals(currentUser.getUserId())) {
+            throw new AccessDeniedException("본인이 생성한 작업만 접근할 수 있습니다");
+        }
+    }
+
+    private PipelineJobDTO convertToDTO(PipelineJob job) throws Exception {
+        StructureResponse structure = job.getStructureResult() != null
+            ? objectMapper.readValue(job.getStructureResult(), StructureResponse.class) : null;
+        TranslateResponse translated = job.getTranslateResult() != null
+            ? objectMapper.readValue(job.getTranslateResult(), TranslateResponse.class) : null;
+
+        return PipelineJobDTO.builder()
+            .jobId(job.getId())
+            .status(job.getStatus())
+            .currentStage(job.getCurrentStage())
+            .targetCountry(job.getTargetCountry())
+            .generateHtml(job.getGenerateHtml())
+            .ocr(job.getOcrResult() != null
+                ? objectMapper.readValue(job.getOcrResult(), OcrResponse.class) : null)
+            .structuredData(structure != null ? structure.getData() : null)
+            .translatedData(translated != null ? translated.getTranslatedData() : null)
+            .html(job.getHtmlResult())
+            .error(job.getErrorMessage())
+            .createdAt(job.getCreatedAt() != null ? job.getCreatedAt().toString() : null)
+            .updatedAt(job.getUpdatedAt() != null ? job.getUpdatedAt().toString() : null)
+            .build();
+    }
+}
@@ -1,36 +1,65 @@
 package com.labelai.service;
 
 import com.labelai.api.FoodLabelApiClient;
+import com.labelai.api.ModelServerConcurrencyLimiters;
+import com.labelai.api.RequestFingerprinter;
 import com.labelai.dto.*;
 import com.labelai.entity.*;
 import com.labelai.repository.*;
 import com.labelai.security.CheckOwnership;
+import com.labelai.security.CustomUserDetails;
 import com.labelai.security.OwnershipType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class PipelineService {
+    private static final MediaType HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
     private final FoodLabelApiClient apiClient;
+    private final OcrCacheService ocrCacheService;
+    private final ImagePreprocessService imagePreprocessService;
+    private final TranslateCacheService translateCacheService;
+    private final ArtifactCompressionService artifactCompressionService;
+    private final ArtifactVersionService artifactVersionService;
+    private final ArtifactDeltaService artifactDeltaService;
+    private final ImageBlobStore imageBlobStore;
+    private final PermissionService permissionService;
     private final ItemRepository itemRepository;
     private final ScanRepository scanRepository;
     private final SchemaDataRepository schemaDataRepository;
     private final TranslateRepository translateRepository;
     private final SketchRepository sketchRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final RequestFingerprinter fingerprinter;
     private final ObjectMapper objectMapper;
+    private final ModelServerConcurrencyLimiters concurrencyLimiters;
+    private final TransactionTemplate transactionTemplate;
 
     public OcrResponse processOcr(MultipartFile image) throws Exception {
-        return apiClient.extractText(image);
+        return ocrCacheService.extractTextAsync(image, true).block();
     }
 
     public StructureResponse processStructure(StructureRequest request) {
@@ -38,7 +67,7 @@ public class PipelineService {
     }
 
     public TranslateResponse processTranslate(TranslateRequest request) {
-        return apiClient.translate(request);
+        return translateCacheService.translate(request);
     }
 
     public String processHtml(HtmlGenerateRequest request) {
@@ -46,7 +75,382 @@ public class PipelineService {
     }
 
     public PipelineResponse processFullPipeline(PipelineRequest request) throws Exception {
-        return apiClient.processFullPipeline(request);
+        return imagePreprocessService.processFullPipelineAsync(request).block();
+    }
+
+    public Mono<OcrResponse> processOcrAsync(MultipartFile image, boolean useCache) throws Exception {
+        return ocrCacheService.extractTextAsync(image, useCache);
+    }
+
+    public Mono<StructureResponse> processStructureAsync(StructureRequest request) {
+        return apiClient.structureDataAsync(request);
+    }
+
+    public Mono<TranslateResponse> processTranslateAsync(TranslateRequest request) {
+        return translateCacheService.translateAsync(request);
+    }
+
+    /**
+     * 번역 캐시 전체 삭제 (SUPER_ADMIN 전용)
+     */
+    public int invalidateTranslateCache(String modelVersion) {
+        if (!permissionService.isSuperAdmin()) {
+            throw new AccessDeniedException("번역 캐시는 SUPER_ADMIN만 초기화할 수 있습니다");
+        }
+        return translateCacheService.invalidate(modelVersion);
+    }
+
+    /**
+     * history 의 실제 저장 이력을 delta 정책으로 재생한 용량 보고 (SUPER_ADMIN 전용)
+     */
+    public Map<String, Object> replayDeltaHistory(int items) {
+        if (!permissionService.isSuperAdmin()) {
+            throw new AccessDeniedException("delta 보고서는 SUPER_ADMIN만 조회할 수 있습니다");
+        }
+        return artifactDeltaService.replayHistory(items);
+    }
+
+    /**
+     * 압축 이전 행 백필 시작 (SUPER_ADMIN 전용)
+     */
+    public Map<String, Object> startCompressionBackfill() {
+        if (!permissionService.isSuperAdmin()) {
+            throw new AccessDeniedException("압축 백필은 SUPER_ADMIN만 실행할 수 있습니다");
+        }
+        return artifactCompressionService.startBackfill();
+    }
+
+    /**
+     * scan 에서 참조하지 않는 이미지 blob 정리 시작 (SUPER_ADMIN 전용)
+     */
+    public Map<String, Object> startBlobGc() {
+        if (!permissionService.isSuperAdmin()) {
+            throw new AccessDeniedException("이미지 저장소 정리는 SUPER_ADMIN만 실행할 수 있습니다");
+        }
+        return imageBlobStore.startGc();
+    }
+
+    public Mono<String> processHtmlAsync(HtmlGenerateRequest request) {
+        return apiClient.generateHtmlAsync(request);
+    }
+
+    public Mono<PipelineResponse> processFullPipelineAsync(PipelineRequest request) throws Exception {
+        return imagePreprocessService.processFullPipelineAsync(request);
+    }
+
+    /**
+     * 다국가 라벨 생성: OCR/구조화는 한 번만 수행하고 국가별 번역 + HTML 을 병렬로 실행
+     * 국가별 결과는 해당 아이템의 Translate/Sketch 로 국가마다 한 건씩 저장 (실패한 국가는 error 만 반환)
+     * 소유권 확인은 요청 스레드에서 수행되고, 저장은 boundedElastic 에서 한 트랜잭션으로 수행
+     */
+    @CheckOwnership(OwnershipType.ITEM)
+    public Mono<MultiCountryPipelineResponse> processMultiCountryAsync(String itemId, MultipartFile image,
+                                                                       List<String> targetCountries,
+                                                                       boolean generateHtml) throws Exception {
+        List<String> countries = targetCountries.stream()
+            .filter(country -> country != null && !country.isBlank())
+            .distinct()
+            .toList();
+        if (countries.isEmpty()) {
+            throw new IllegalArgumentException("대상 국가를 하나 이상 지정해야 합니다");
+        }
+        // 현재 동시성 제어 모드의 한도를 넘겨 요청하면 즉시 거절되므로 그 이하로 제한
+        int limit = concurrencyLimiters.maxConcurrency("/translate");
+        if (generateHtml) {
+            limit = Math.min(limit, concurrencyLimiters.maxConcurrency("/generate-html"));
+        }
+        int concurrency = Math.max(1, Math.min(countries.size(), limit));
+
+        return ocrCacheService.extractTextAsync(image, true)
+            .flatMap(ocr -> apiClient.structureDataAsync(toStructureRequest(ocr))
+                .flatMap(structure -> Flux.fromIterable(countries)
+                    .flatMapSequential(country -> processCountry(ocr, structure, country, generateHtml), concurrency)
+                    .collectList()
+                    .flatMap(results -> Mono.fromCallable(() -> {
+                            saveCountryResults(itemId, results);
+                            return MultiCountryPipelineResponse.builder()
+                                .itemId(itemId)
+                                .ocr(ocr)
+                                .structuredData(structure.getData())
+                                .countries(results)
+                                .build();
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()))));
+    }
+
+    private Mono<MultiCountryPipelineResponse.CountryResult> processCountry(OcrResponse ocr, StructureResponse structure,
+                                                                             String country, boolean generateHtml) {
+        return translateCacheService.translateAsync(toTranslateRequest(ocr, structure, country))
+            .flatMap(translated -> {
+                MultiCountryPipelineResponse.CountryResult result = MultiCountryPipelineResponse.CountryResult.builder()
+                    .targetCountry(country)
+                    .translatedData(translated.getTranslatedData())
+                    .build();
+                if (!generateHtml) {
+                    return Mono.just(result);
+                }
+                return apiClient.generateHtmlAsync(toHtmlRequest(ocr, structure, translated, country))
+                    .map(html -> {
+                        result.setHtml(html);
+                        return result;
+                    });
+            })
+            .onErrorResume(e -> {
+                log.error("[MULTI_COUNTRY_FAILED] country={}, error={}", country, e.getMessage());
+                return Mono.just(MultiCountryPipelineResponse.CountryResult.builder()
+                    .targetCountry(country)
+                    .error(e.getMessage())
+                    .build());
+            });
+    }
+
+    /**
+     * 저장된 단계 결과를 재사용하는 재실행: 단계 입력(요청) 해시가 저장된 결과의 input_hash 와 같으면 모델을 호출하지 않음
+     * OCR 은 항상 최신 scan 을 사용하고, 입력이 바뀐 첫 단계부터 실행 (국가만 바꾸면 번역/HTML, 구조화 데이터를 수정하면 번역/HTML)
+     * 최신 행 조회는 요청 스레드에서, 저장된 문서 복원과 새로 만든 결과 저장은 boundedElastic 에서 수행 (저장은 한 트랜잭션)
+     * input_hash 가 없는 이전 결과(/save/* 로 저장)는 재사용하지 않으므로 처음 한 번은 다시 실행됨
+     */
+    @CheckOwnership(OwnershipType.ITEM)
+    public Mono<PipelineRerunResponse> rerunAsync(String itemId, PipelineRerunRequest request) throws Exception {
+        Scan scan = scanRepository.findLatest(itemId)
+            .filter(found -> found.getScanMeta() != null)
+            .orElseThrow(() -> new IllegalArgumentException("저장된 OCR 결과가 없습니다. 전체 파이프라인을 먼저 실행하세요"));
+        OcrResponse ocr = scan.getScanMeta();
+        String country = request.getTargetCountry();
+        boolean generateHtml = Boolean.TRUE.equals(request.getGenerateHtml());
+
+        SchemaData storedSchema = schemaDataRepository.findLatest(itemId).orElse(null);
+        Translate storedTranslate = country != null
+            ? translateRepository.findFirstByItemIdAndTargetCountryOrderByVersionDesc(itemId, country).orElse(null)
+            : null;
+        Sketch storedSketch = generateHtml
+            ? sketchRepository.findFirstByItemIdAndTargetCountryOrderByVersionDesc(itemId, country).orElse(null)
+            : null;
+
+        Map<String, String> stages = new LinkedHashMap<>();
+        stages.put("ocr", PipelineRerunResponse.REUSED);
+        List<Object> created = new ArrayList<>();
+
+        StructureRequest structureRequest = toStructureRequest(ocr);
+        String structureInput = fingerprinter.fingerprint(structureRequest);
+        Mono<StructureResponse> structureStage;
+        if (request.getStructuredData() != null) {
+            stages.put("structure", PipelineRerunResponse.EDITED);
+            StructureResponse edited = StructureResponse.builder().data(request.getStructuredData()).build();
+            created.add(newSchema(structureInput, edited));
+            structureStage = Mono.just(edited);
+        } else if (storedSchema != null && structureInput.equals(storedSchema.getInputHash())) {
+            stages.put("structure", PipelineRerunResponse.REUSED);
+            structureStage = Mono.fromCallable(() -> StructureResponse.builder()
+                    .data(readMap(artifactDeltaService.read(itemId, storedSchema)))
+                    .build())
+                .subscribeOn(Schedulers.boundedElastic());
+        } else {
+            stages.put("structure", PipelineRerunResponse.EXECUTED);
+            structureStage = apiClient.structureDataAsync(structureRequest)
+                .doOnNext(structure -> created.add(newSchema(structureInput, structure)));
+        }
+
+        PipelineRerunResponse response = PipelineRerunResponse.builder()
+            .itemId(itemId)
+            .ocr(ocr)
+            .stages(stages)
+            .build();
+        return structureStage
+            .flatMap(structure -> {
+                response.setStructuredData(structure.getData());
+                return translateStage(itemId, ocr, structure, country, storedTranslate, stages, created)
+                    .doOnNext(translated -> response.setTranslatedData(translated.getTranslatedData()))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(translated -> htmlStage(ocr, structure, translated.orElse(null), country, generateHtml,
+                        storedSketch, stages, created))
+                    .doOnNext(response::setHtml)
+                    .then(Mono.fromCallable(() -> {
+                            saveRerunResults(itemId, created);
+                            return response;
+                        })
+                        .subscribeOn(Schedulers.boundedElastic()));
+            });
+    }
+
+    private Mono<TranslateResponse> translateStage(String itemId, OcrResponse ocr, StructureResponse structure,
+                                                   String country, Translate stored,
+                                                   Map<String, String> stages, List<Object> created) {
+        if (country == null) {
+            return Mono.empty();
+        }
+        TranslateRequest translateRequest = toTranslateRequest(ocr, structure, country);
+        String input = fingerprinter.fingerprint(translateRequest);
+        if (stored != null && input.equals(stored.getInputHash())) {
+            stages.put("translate", PipelineRerunResponse.REUSED);
+            // 구조화 응답 스레드(이벤트 루프)에서 실행될 수 있으므로 delta 복원(JDBC)은 boundedElastic 에서 수행
+            return Mono.fromCallable(() -> TranslateResponse.builder()
+                    .translatedData(readMap(artifactDeltaService.read(itemId, stored)))
+                    .targetCountry(country)
+                    .build())
+                .subscribeOn(Schedulers.boundedElastic());
+        }
+        stages.put("translate", PipelineRerunResponse.EXECUTED);
+        return translateCacheService.translateAsync(translateRequest)
+            .doOnNext(translated -> created.add(Translate.builder()
+                .id(UUID.randomUUID().toString())
+                .targetCountry(country)
+                .data(writeJson(translated.getTranslatedData()))
+                .inputHash(input)
+                .build()));
+    }
+
+    private Mono<String> htmlStage(OcrResponse ocr, StructureResponse structure, TranslateResponse translated,
+                                   String country, boolean generateHtml, Sketch stored,
+                                   Map<String, String> stages, List<Object> created) {
+        if (!generateHtml) {
+            return Mono.empty();
+        }
+        HtmlGenerateRequest htmlRequest = toHtmlRequest(ocr, structure, translated, country);
+        String input = fingerprinter.fingerprint(htmlRequest);
+        if (stored != null && input.equals(stored.getInputHash())) {
+            stages.put("html", PipelineRerunResponse.REUSED);
+            return Mono.just(stored.getData());
+        }
+        stages.put("html", PipelineRerunResponse.EXECUTED);
+        return apiClient.generateHtmlAsync(htmlRequest)
+            .doOnNext(html -> created.add(Sketch.builder()
+                .id(UUID.randomUUID().toString())
+                .targetCountry(country)
+                .data(html)
+                .inputHash(input)
+                .build()));
+    }
+
+    private SchemaData newSchema(String inputHash, StructureResponse structure) {
+        return SchemaData.builder()
+            .id(UUID.randomUUID().toString())
+            .data(writeJson(structure.getData()))
+            .inputHash(inputHash)
+            .build();
+    }
+
+    private void saveRerunResults(String itemId, List<Object> created) {
+        if (created.isEmpty()) return;
+        transactionTemplate.executeWithoutResult(status -> {
+            Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("작업을 찾을 수 없습니다"));
+            for (Object entity : created) {
+                if (entity instanceof SchemaData schema) {
+                    schema.setItem(item);
+                    schema.setVersion(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SCHEMA));
+                    artifactDeltaService.encode(itemId, schema);
+                } else if (entity instanceof Translate translate) {
+                    translate.setItem(item);
+                    translate.setVersion(artifactVersionService.next(itemId, ArtifactVersionService.Kind.TRANSLATE));
+                    artifactDeltaService.encode(itemId, translate);
+                } else if (entity instanceof Sketch sketch) {
+                    sketch.setItem(item);
+                    sketch.setVersion(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SKETCH));
+                }
+                entityManager.persist(entity);
+            }
+        });
+        log.info("재실행 결과 저장 완료: itemId={}, created={}", itemId, created.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readMap(String json) {
+        try {
+            return objectMapper.readValue(json, Map.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("저장된 단계 결과 파싱 실패", e);
+        }
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("단계 결과 직렬화 실패", e);
+        }
+    }
+
+    private void saveCountryResults(String itemId, List<MultiCountryPipelineResponse.CountryResult> results) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("작업을 찾을 수 없습니다"));
+            for (MultiCountryPipelineResponse.CountryResult result : results) {
+                if (result.getError() != null) continue;
+                Translate translate;
+                try {
+                    translate = Translate.builder()
+                        .id(UUID.randomUUID().toString())
+                        .item(item)
+                        .targetCountry(result.getTargetCountry())
+                        .data(objectMapper.writeValueAsString(result.getTranslatedData()))
+                        .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.TRANSLATE))
+                        .build();
+                } catch (Exception e) {
+                    throw new IllegalStateException("번역 데이터 직렬화 실패: " + result.getTargetCountry(), e);
+                }
+                artifactDeltaService.encode(itemId, translate);
+                // id 를 직접 할당하므로 save(merge) 대신 persist (행마다 SELECT 하지 않도록)
+                entityManager.persist(translate);
+                if (result.getHtml() != null) {
+                    entityManager.persist(Sketch.builder()
+                        .id(UUID.randomUUID().toString())
+                        .item(item)
+                        .targetCountry(result.getTargetCountry())
+                        .data(result.getHtml())
+                        .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SKETCH))
+                        .build());
+                }
+            }
+        });
+        log.info("다국가 결과 저장 완료: itemId={}, countries={}", itemId, results.size());
+    }
+
+    /**
+     * 단계 연결 규칙 (프론트엔드 usePipeline 과 동일)
+     * OCR → 구조화 요청
+     */
+    public StructureRequest toStructureRequest(OcrResponse ocr) {
+        return StructureRequest.builder()
+            .texts(ocr.getTexts())
+            .language(sourceLanguage(ocr))
+            .rawData(StructureRequest.RawData.builder().recTexts(ocr.getTexts()).build())
+            .build();
+    }
+
+    /**
+     * 구조화 결과 → 번역 요청
+     */
+    public TranslateRequest toTranslateRequest(OcrResponse ocr, StructureResponse structure, String targetCountry) {
+        return TranslateRequest.builder()
+            .language(sourceLanguage(ocr))
+            .data(toMap(structure))
+            .targetCountry(targetCountry)
+            .build();
+    }
+
+    /**
+     * 구조화/번역 결과 → HTML 생성 요청 (번역이 없으면 구조화 데이터로 생성)
+     */
+    public HtmlGenerateRequest toHtmlRequest(OcrResponse ocr, StructureResponse structure,
+                                             TranslateResponse translated, String targetCountry) {
+        return HtmlGenerateRequest.builder()
+            .labelData(toMap(structure))
+            .data(translated != null ? toMap(translated) : toMap(structure))
+            .sourceLanguage(sourceLanguage(ocr))
+            .targetCountry(targetCountry)
+            .country(targetCountry)
+            .build();
+    }
+
+    private String sourceLanguage(OcrResponse ocr) {
+        return ocr != null && ocr.getLanguage() != null ? ocr.getLanguage() : "korean";
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMap(Object value) {
+        return objectMapper.convertValue(value, Map.class);
     }
 
     @Transactional
@@ -54,12 +458,15 @@ public class PipelineService {
     public void saveScanResult(String itemId, String imageUrl, OcrResponse ocrResult) throws Exception {
         Item item = itemRepository.findById(itemId)
             .orElseThrow(() -> new IllegalArgumentException("작업을 찾을 수 없습니다"));
+        imageBlobStore.retain(imageUrl);
         
         Scan scan = Scan.builder()
             .id(UUID.randomUUID().toString())
             .item(item)
             .scanImageUrl(imageUrl)
-            .scanMeta(objectMapper.writeValueAsString(ocrResult))
+            .scanMeta(ocrResult)
+            .imageHash(ocrCacheService.verifiedHash(ocrResult))
+            .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SCAN))
             .build();
         
         scanRepository.save(scan);
@@ -76,7 +483,9 @@ public class PipelineService {
             .id(UUID.randomUUID().toString())
             .item(item)
             .data(objectMapper.writeValueAsString(data))
+            .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SCHEMA))
             .build();
+        artifactDeltaService.encode(itemId, schema);
         
         schemaDataRepository.save(schema);
         log.info("Schema 데이터 저장 완료: itemId={}", itemId);
@@ -92,7 +501,9 @@ public class PipelineService {
             .id(UUID.randomUUID().toString())
             .item(item)
             .data(objectMapper.writeValueAsString(data))
+            .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.TRANSLATE))
             .build();
+        artifactDeltaService.encode(itemId, translate);
         
         translateRepository.save(translate);
         log.info("Translate 데이터 저장 완료: itemId={}", itemId);
@@ -108,36 +519,163 @@ public class PipelineService {
             .id(UUID.randomUUID().toString())
             .item(item)
             .data(htmlData)
+            .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SKETCH))
             .build();
         
         sketchRepository.save(sketch);
         log.info("Sketch 데이터 저장 완료: itemId={}", itemId);
     }
 
+    /**
+     * scan / schema / translate / sketch 를 한 트랜잭션에 저장 (소유권 확인 1회, 이력은 한 번에 기록)
+     * 개별 save* 와 같은 이력(step, field, payload 형식)을 남기므로 HistoryLoggingAspect 대상에서 제외됨
+     * ID 를 직접 지정하는 엔티티라 repository.save() 는 merge(조회 후 INSERT) 가 되므로 persist 로 바로 INSERT
+     */
+    @Transactional
+    @CheckOwnership(OwnershipType.ITEM)
+    public List<String> saveAll(String itemId, PipelineSaveAllRequest request) throws Exception {
+        Item item = itemRepository.findById(itemId)
+            .orElseThrow(() -> new IllegalArgumentException("작업을 찾을 수 없습니다"));
+        CustomUserDetails currentUser = permissionService.getCurrentUser();
+        User user = userRepository.getReferenceById(currentUser.getUserId());
+
+        List<String> saved = new ArrayList<>();
+        List<History> histories = new ArrayList<>();
+
+        if (request.getOcrResult() != null) {
+            if (request.getImageUrl() == null) {
+                throw new IllegalArgumentException("imageUrl 이 필요합니다");
+            }
+            imageBlobStore.retain(request.getImageUrl());
+            entityManager.persist(Scan.builder()
+                .id(UUID.randomUUID().toString())
+                .item(item)
+                .scanImageUrl(request.getImageUrl())
+                .scanMeta(request.getOcrResult())
+                .imageHash(ocrCacheService.verifiedHash(request.getOcrResult()))
+                .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SCAN))
+                .build());
+            histories.add(historyEntry(item, user, "SCAN", "scan_data",
+                new Object[]{itemId, request.getImageUrl(), request.getOcrResult()}));
+            saved.add("scan");
+        }
+        if (request.getSchema() != null) {
+            SchemaData schema = SchemaData.builder()
+                .id(UUID.randomUUID().toString())
+                .item(item)
+                .data(objectMapper.writeValueAsString(request.getSchema()))
+                .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SCHEMA))
+                .build();
+            artifactDeltaService.encode(itemId, schema);
+            entityManager.persist(schema);
+            histories.add(historyEntry(item, user, "SCHEMA", "schema_data",
+                new Object[]{itemId, request.getSchema()}));
+            saved.add("schema");
+        }
+        if (request.getTranslate() != null) {
+            Translate translate = Translate.builder()
+                .id(UUID.randomUUID().toString())
+                .item(item)
+                .targetCountry(request.getTargetCountry())
+                .data(objectMapper.writeValueAsString(request.getTranslate()))
+                .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.TRANSLATE))
+                .build();
+            artifactDeltaService.encode(itemId, translate);
+            entityManager.persist(translate);
+            histories.add(historyEntry(item, user, "TRANSLATE", "translate_data",
+                new Object[]{itemId, request.getTranslate()}));
+            saved.add("translate");
+        }
+        if (request.getSketch() != null) {
+            entityManager.persist(Sketch.builder()
+                .id(UUID.randomUUID().toString())
+                .item(item)
+                .targetCountry(request.getTargetCountry())
+                .data(request.getSketch())
+                .version(artifactVersionService.next(itemId, ArtifactVersionService.Kind.SKETCH))
+                .build());
+            histories.add(historyEntry(item, user, "SKETCH", "sketch_data",
+                new Object[]{itemId, request.getSketch()}));
+            saved.add("sketch");
+        }
+
+        if (saved.isEmpty()) {
+            throw new IllegalArgumentException("저장할 데이터가 없습니다");
+        }
+        histories.forEach(entityManager::persist);
+        log.info("파이프라인 결과 일괄 저장 완료: itemId={}, saved={}", itemId, saved);
+        return saved;
+    }
+
+    private History historyEntry(Item item, User user, String stepName, String fieldName, Object[] payload) throws Exception {
+        return History.builder()
+            .id(UUID.randomUUID().toString())
+            .item(item)
+            .stepName(stepName)
+            .fieldName(fieldName)
+            .actionType("SAVE")
+            .payload(objectMapper.writeValueAsString(payload))
+            .changedBy(user)
+            .build();
+    }
+
     @CheckOwnership(OwnershipType.ITEM)
     public Map<String, Object> getScanData(String itemId) throws Exception {
-        List<Scan> scans = scanRepository.findByItemId(itemId);
+        List<Scan> scans = scanRepository.findByItemIdOrderByVersionDesc(itemId);
         return Map.of("scans", scans);
     }
 
+    /**
+     * 저장된 JSON 을 파싱하지 않고 그대로 내려주기 위한 조회 (id 만 먼저 읽어 ETag 비교 후 본문은 필요 시 로드)
+     * version 을 지정하면 해당 버전, 아니면 최신 버전 (items 최신 포인터로 한 번에 조회)
+     */
     @CheckOwnership(OwnershipType.ITEM)
-    public Map<String, Object> getSchemaData(String itemId) throws Exception {
-        SchemaData schema = schemaDataRepository.findByItemId(itemId)
+    public StoredArtifact getSchemaArtifact(String itemId, Integer version) {
+        ArtifactRef ref = (version != null
+                ? schemaDataRepository.findRefByItemIdAndVersion(itemId, version)
+                : schemaDataRepository.findLatestRef(itemId))
             .orElseThrow(() -> new IllegalArgumentException("스키마 데이터를 찾을 수 없습니다"));
-        return objectMapper.readValue(schema.getData(), Map.class);
+        return new StoredArtifact(ref.getId(), MediaType.APPLICATION_JSON,
+            () -> schemaDataRepository.findById(ref.getId()).map(row -> artifactDeltaService.read(itemId, row))
+                .orElseThrow(() -> new IllegalArgumentException("스키마 데이터를 찾을 수 없습니다")));
     }
 
     @CheckOwnership(OwnershipType.ITEM)
-    public Map<String, Object> getTranslateData(String itemId) throws Exception {
-        Translate translate = translateRepository.findByItemId(itemId)
+    public StoredArtifact getTranslateArtifact(String itemId, String targetCountry, Integer version) {
+        ArtifactRef ref = (version != null
+                ? translateRepository.findRefByItemIdAndVersion(itemId, version)
+                : targetCountry != null
+                ? translateRepository.findFirstRefByItemIdAndTargetCountryOrderByVersionDesc(itemId, targetCountry)
+                : translateRepository.findLatestRef(itemId))
             .orElseThrow(() -> new IllegalArgumentException("번역 데이터를 찾을 수 없습니다"));
-        return objectMapper.readValue(translate.getData(), Map.class);
+        return new StoredArtifact(ref.getId(), MediaType.APPLICATION_JSON,
+            () -> translateRepository.findById(ref.getId()).map(row -> artifactDeltaService.read(itemId, row))
+                .orElseThrow(() -> new IllegalArgumentException("번역 데이터를 찾을 수 없습니다")));
     }
 
     @CheckOwnership(OwnershipType.ITEM)
-    public String getSketchData(String itemId) {
-        Sketch sketch = sketchRepository.findByItemId(itemId)
+    public StoredArtifact getSketchArtifact(String itemId, String targetCountry, Integer version) {
+        ArtifactRef ref = (version != null
+                ? sketchRepository.findRefByItemIdAndVersion(itemId, version)
+                : targetCountry != null
+                ? sketchRepository.findFirstRefByItemIdAndTargetCountryOrderByVersionDesc(itemId, targetCountry)
+                : sketchRepository.findLatestRef(itemId))
             .orElseThrow(() -> new IllegalArgumentException("스케치 데이터를 찾을 수 없습니다"));
-        return sketch.getData();
+        return new StoredArtifact(ref.getId(), HTML_UTF8,
+            () -> sketchRepository.findById(ref.getId()).map(Sketch::getData)
+                .orElseThrow(() -> new IllegalArgumentException("스케치 데이터를 찾을 수 없습니다")));
+    }
+
+    /**
+     * 단계별 저장 버전 목록 (최신순, 본문 제외)
+     */
+    @CheckOwnership(OwnershipType.ITEM)
+    public Map<String, Object> getArtifactVersions(String itemId) {
+        Map<String, Object> versions = new LinkedHashMap<>();
+        versions.put("scan", scanRepository.findRefByItemIdOrderByVersionDesc(itemId));
+        versions.put("schema", schemaDataRepository.findRefByItemIdOrderByVersionDesc(itemId));
+        versions.put("translate", translateRepository.findRefByItemIdOrderByVersionDesc(itemId));
+        versions.put("sketch", sketchRepository.findRefByItemIdOrderByVersionDesc(itemId));
+        return versions;
     }
 }
@@ -0,0 +1,198 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.api.RequestFingerprinter;
+import com.labelai.dto.TranslateRequest;
+import com.labelai.dto.TranslateResponse;
+import com.labelai.entity.TranslateCache;
+import com.labelai.repository.TranslateCacheRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (language, data, targetCountry) 정규화 해시 기준 번역 결과 캐시
+ * 1차: 메모리 LRU + TTL, 2차: translate_cache 테이블 (재시작 후에도 유지)
+ * 키에 번역 모델 버전을 포함하므로 버전이 바뀌면 이전 항목은 자동으로 무효화됨
+ * 모델 버전은 설정(pipeline.translate-cache.model-version)만 기준으로 하므로 재시작이나 여러 인스턴스에서도 같은 값을 사용
+ */
+@Service
+@Slf4j
+public class TranslateCacheService {
+    private final FoodLabelApiClient apiClient;
+    private final TranslateCacheRepository cacheRepository;
+    private final ObjectMapper objectMapper;
+    private final RequestFingerprinter fingerprinter;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Map<String, CachedTranslation> memory;
+    private final String modelVersion;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TranslateCacheService(FoodLabelApiClient apiClient,
+                                 TranslateCacheRepository cacheRepository,
+                                 ObjectMapper objectMapper,
+                                 RequestFingerprinter fingerprinter,
+                                 @Value("${pipeline.translate-cache.enabled:true}") boolean enabled,
+                                 @Value("${pipeline.translate-cache.max-entries:2000}") int maxEntries,
+                                 @Value("${pipeline.translate-cache.ttl:7d}") Duration ttl,
+                                 @Value("${pipeline.translate-cache.model-version:default}") String modelVersion,
+                                 MeterRegistry registry) {
+        this.apiClient = apiClient;
+        this.cacheRepository = cacheRepository;
+        this.objectMapper = objectMapper;
+        this.fingerprinter = fingerprinter;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.modelVersion = modelVersion;
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<String, CachedTranslation>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTranslation> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        lookupCounter(registry, "memory_hit", memoryHits);
+        lookupCounter(registry, "persistent_hit", persistentHits);
+        lookupCounter(registry, "miss", misses);
+        Gauge.builder("labelai.translate.cache.entries", memory, Map::size)
+            .description("번역 메모리 캐시 항목 수")
+            .register(registry);
+    }
+
+    /**
+     * 캐시 조회(2차는 JDBC)와 저장은 구독 시점에 boundedElastic 에서 수행 (이벤트 루프에서 조립돼도 블로킹하지 않음)
+     */
+    public Mono<TranslateResponse> translateAsync(TranslateRequest request) {
+        if (!enabled) {
+            return apiClient.translateAsync(request);
+        }
+
+        return Mono.defer(() -> {
+            String key = cacheKey(request);
+            return Mono.fromCallable(() -> lookup(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.defer(() -> apiClient.translateAsync(request)
+                    .flatMap(result -> Mono.fromRunnable(() -> store(key, request.getTargetCountry(), result))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(result))));
+        });
+    }
+
+    public TranslateResponse translate(TranslateRequest request) {
+        return translateAsync(request).block();
+    }
+
+    /**
+     * 현재 설정된 모델 버전의 항목까지 메모리/DB 에서 모두 제거 (같은 버전 문자열로 잘못된 모델이 배포된 경우)
+     * 버전 교체는 설정 변경 후 재배포로만 하며, 요청한 버전이 설정과 다르면 거절 (인스턴스마다 버전이 갈리지 않도록)
+     * 다른 인스턴스의 메모리 캐시는 비워지지 않으므로 여러 대면 이후 재시작하거나 TTL 만료를 기다려야 함
+     */
+    public int invalidate(String requestedModelVersion) {
+        if (requestedModelVersion != null && !requestedModelVersion.equals(modelVersion)) {
+            throw new IllegalArgumentException("설정된 번역 모델 버전(" + modelVersion + ")과 다릅니다. "
+                + "pipeline.translate-cache.model-version 을 변경한 뒤 재배포하세요");
+        }
+        memory.clear();
+        int deleted = cacheRepository.deleteAllEntries();
+        log.info("번역 캐시 무효화: modelVersion={}, deleted={}", modelVersion, deleted);
+        return deleted;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeStaleEntries() {
+        if (!enabled) return;
+        int stale = cacheRepository.deleteByModelVersionNot(modelVersion);
+        int expired = cacheRepository.deleteExpired(LocalDateTime.now().minus(ttl));
+        log.info("번역 캐시 정리: modelVersion={}, stale={}, expired={}", modelVersion, stale, expired);
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "enabled", enabled,
+            "modelVersion", modelVersion,
+            "entries", memory.size(),
+            "memoryHits", memoryHits.get(),
+            "persistentHits", persistentHits.get(),
+            "misses", misses.get()
+        );
+    }
+
+    private static void lookupCounter(MeterRegistry registry, String result, AtomicLong count) {
+        FunctionCounter.builder("labelai.translate.cache.lookups", count, AtomicLong::get)
+            .description("번역 캐시 조회 결과별 건수")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private TranslateResponse lookup(String key) {
+        CachedTranslation cached = memory.get(key);
+        if (cached != null && !isExpired(cached.createdAt())) {
+            memoryHits.incrementAndGet();
+            return cached.response();
+        }
+
+        try {
+            TranslateCache row = cacheRepository.findById(key).orElse(null);
+            if (row != null && !isExpired(row.getCreatedAt())) {
+                TranslateResponse stored = objectMapper.readValue(row.getResponse(), TranslateResponse.class);
+                memory.put(key, new CachedTranslation(stored, row.getCreatedAt()));
+                persistentHits.incrementAndGet();
+                return stored;
+            }
+        } catch (Exception e) {
+            log.warn("번역 캐시 조회 실패: key={}, error={}", key, e.getMessage());
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private void store(String key, String targetCountry, TranslateResponse result) {
+        LocalDateTime now = LocalDateTime.now();
+        memory.put(key, new CachedTranslation(result, now));
+        try {
+            cacheRepository.save(TranslateCache.builder()
+                .cacheKey(key)
+                .modelVersion(modelVersion)
+                .targetCountry(targetCountry)
+                .response(objectMapper.writeValueAsString(result))
+                .createdAt(now)
+                .build());
+        } catch (Exception e) {
+            log.warn("번역 캐시 저장 실패: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(LocalDateTime createdAt) {
+        return createdAt != null && createdAt.plus(ttl).isBefore(LocalDateTime.now());
+    }
+
+    private String cacheKey(TranslateRequest request) {
+        Map<String, Object> canonical = new LinkedHashMap<>();
+        canonical.put("modelVersion", modelVersion);
+        canonical.put("language", request.getLanguage());
+        canonical.put("targetCountry", request.getTargetCountry());
+        canonical.put("data", request.getData());
+        return fingerprinter.fingerprint(canonical);
+    }
+
+    private record CachedTranslation(TranslateResponse response, LocalDateTime createdAt) { }
+}
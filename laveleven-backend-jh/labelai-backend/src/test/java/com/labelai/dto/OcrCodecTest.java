@@ -0,0 +1,138 @@
+package com.labelai.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OcrCodecTest {
+
+    @Test
+    void roundTripsFullResponse() {
+        OcrResponse ocr = response(
+            new OcrBoxes(new int[]{0, 8, 16}, new int[]{40, 40, 440, 40, 440, 70, 40, 70, 42, 76, 900, 76, 900, 106, 42, 106}),
+            new float[]{0.9731f, 0.88f});
+
+        assertThat(roundTrip(ocr)).isEqualTo(ocr);
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        OcrResponse empty = new OcrResponse();
+        assertThat(roundTrip(empty)).isEqualTo(empty);
+
+        OcrResponse rawWithNulls = new OcrResponse();
+        rawWithNulls.setRawData(new OcrResponse.RawData());
+        assertThat(roundTrip(rawWithNulls)).isEqualTo(rawWithNulls);
+    }
+
+    @Test
+    void roundTripsEmptyBoxesAndLists() {
+        OcrResponse ocr = response(new OcrBoxes(new int[]{0}, new int[0]), new float[0]);
+        ocr.setTexts(List.of());
+        ocr.getRawData().setRecTexts(List.of());
+
+        OcrResponse decoded = roundTrip(ocr);
+
+        assertThat(decoded).isEqualTo(ocr);
+        assertThat(decoded.getRawData().getBoxes().size()).isZero();
+    }
+
+    @Test
+    void roundTripsLinesWithoutPoints() {
+        OcrBoxes boxes = new OcrBoxes(new int[]{0, 0, 4, 4}, new int[]{10, 20, 30, 40});
+
+        assertThat(roundTrip(response(boxes, null)).getRawData().getBoxes()).isEqualTo(boxes);
+    }
+
+    @Test
+    void roundTripsNegativeDeltasAndExtremeCoordinates() {
+        OcrBoxes boxes = new OcrBoxes(new int[]{0, 4, 8, 12},
+            new int[]{1000, 900, -5, -7, 0, 0, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 1});
+
+        assertThat(roundTrip(response(boxes, null)).getRawData().getBoxes()).isEqualTo(boxes);
+    }
+
+    @Test
+    void roundTripsRandomResponses() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            int lines = random.nextInt(30);
+            int[] offsets = new int[lines + 1];
+            List<Integer> coords = new ArrayList<>();
+            float[] confidences = new float[lines];
+            for (int line = 0; line < lines; line++) {
+                int points = random.nextInt(6);
+                for (int point = 0; point < points * 2; point++) {
+                    coords.add(random.nextInt(20_000) - 10_000);
+                }
+                offsets[line + 1] = coords.size();
+                confidences[line] = random.nextFloat();
+            }
+            OcrBoxes boxes = new OcrBoxes(offsets, coords.stream().mapToInt(Integer::intValue).toArray());
+            OcrResponse ocr = response(boxes, confidences);
+
+            assertThat(roundTrip(ocr)).isEqualTo(ocr);
+        }
+    }
+
+    @Test
+    void keepsJsonShapeOfBoxes() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String json = "[[[1,2],[3,4]],[],[[-5,6]]]";
+
+        OcrBoxes boxes = mapper.readValue(json, OcrBoxes.class);
+
+        assertThat(mapper.writeValueAsString(boxes)).isEqualTo(json);
+        assertThat(mapper.readValue("[[[1.4,2.6]]]", OcrBoxes.class))
+            .isEqualTo(new OcrBoxes(new int[]{0, 2}, new int[]{1, 3}));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] otherVersion = deflate(new byte[]{2});
+
+        assertThatThrownBy(() -> OcrCodec.decode(otherVersion)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static OcrResponse roundTrip(OcrResponse ocr) {
+        return OcrCodec.decode(OcrCodec.encode(ocr));
+    }
+
+    private static OcrResponse response(OcrBoxes boxes, float[] confidences) {
+        OcrResponse.RawData raw = new OcrResponse.RawData();
+        raw.setRecTexts(List.of("원재료명 및 함량", "", "유통기한: 2026.12.31"));
+        raw.setBoxes(boxes);
+        raw.setConfidences(confidences);
+        raw.setAverageConfidence(0.9215);
+        raw.setLanguage("korean");
+        raw.setTotalLines(boxes != null ? boxes.size() : null);
+
+        OcrResponse ocr = new OcrResponse();
+        ocr.setFilename("label.jpg");
+        ocr.setLanguage("korean");
+        ocr.setTexts(List.of("원재료명 및 함량", "유통기한: 2026.12.31"));
+        ocr.setImageHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        ocr.setRawData(raw);
+        return ocr;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
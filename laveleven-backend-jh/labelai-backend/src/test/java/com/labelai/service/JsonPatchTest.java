@@ -0,0 +1,110 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPatchTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void roundTripsObjectChanges() throws Exception {
+        assertRoundTrip(
+            "{\"name\":\"라면\",\"weight\":120,\"allergens\":[\"밀\",\"대두\"],\"nutrition\":{\"kcal\":500,\"fat\":16}}",
+            "{\"name\":\"라면\",\"weight\":110,\"allergens\":[\"밀\",\"대두\",\"우유\"],\"nutrition\":{\"kcal\":480},\"origin\":\"KR\"}");
+    }
+
+    @Test
+    void escapesKeysWithTildeAndSlash() throws Exception {
+        JsonNode source = json("{\"a/b\":1,\"m~n\":{\"~1\":true},\"~\":[1],\"/\":\"x\",\"\":0}");
+        JsonNode target = json("{\"a/b\":2,\"m~n\":{\"~1\":false,\"x/~y\":null},\"/\":\"y\",\"\":1,\"~0\":\"new\"}");
+
+        JsonNode patch = JsonPatch.diff(source, target);
+
+        assertThat(JsonPatch.apply(source, patch)).isEqualTo(target);
+        assertThat(patch.toString()).contains("\"/a~1b\"", "\"/m~0n/~01\"", "\"/~0\"");
+    }
+
+    @Test
+    void shrinksAndGrowsArrays() throws Exception {
+        assertRoundTrip("[1,2,3,4,5]", "[1,9]");
+        assertRoundTrip("[1,9]", "[1,2,3,4,5]");
+        assertRoundTrip("[]", "[{\"a\":1},[2]]");
+        assertRoundTrip("[{\"a\":1},[2]]", "[]");
+        assertRoundTrip("{\"rows\":[[1,2],[3,4,5],[6]]}", "{\"rows\":[[1],[3,4,5,6,7]]}");
+    }
+
+    @Test
+    void replacesRootAndMismatchedTypes() throws Exception {
+        assertRoundTrip("{\"a\":1}", "[1,2]");
+        assertRoundTrip("[1,2]", "\"text\"");
+        assertRoundTrip("null", "{\"a\":null}");
+        assertRoundTrip("{\"a\":{\"b\":1}}", "{\"a\":[1]}");
+        assertRoundTrip("{\"a\":1}", "{\"a\":\"1\"}");
+    }
+
+    @Test
+    void emitsNoOperationsForEqualDocuments() throws Exception {
+        JsonNode document = json("{\"a\":[1,{\"b\":null}],\"c\":\"d\"}");
+
+        assertThat(JsonPatch.diff(document, document.deepCopy()).size()).isZero();
+    }
+
+    @Test
+    void leavesSourceUnchanged() throws Exception {
+        JsonNode source = json("{\"a\":[1,2,3],\"b\":{\"c\":1}}");
+        JsonNode before = source.deepCopy();
+        JsonNode target = json("{\"a\":[3],\"b\":{\"c\":2,\"d\":[1]}}");
+
+        JsonNode patched = JsonPatch.apply(source, JsonPatch.diff(source, target));
+
+        assertThat(source).isEqualTo(before);
+        assertThat(patched).isEqualTo(target);
+    }
+
+    @Test
+    void appliesPatchChains() throws Exception {
+        List<String> versions = List.of(
+            "{\"items\":[]}",
+            "{\"items\":[{\"id\":1}]}",
+            "{\"items\":[{\"id\":1},{\"id\":2,\"tags\":[\"a/b\"]}]}",
+            "{\"items\":[{\"id\":2,\"tags\":[]}],\"note\":\"~\"}",
+            "{\"items\":[]}");
+        JsonNode document = json(versions.get(0));
+        for (int i = 1; i < versions.size(); i++) {
+            JsonNode next = json(versions.get(i));
+            document = JsonPatch.apply(document, JsonPatch.diff(json(versions.get(i - 1)), next));
+            assertThat(document).isEqualTo(next);
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedOrInvalidOperations() throws Exception {
+        JsonNode document = json("{\"a\":[1]}");
+
+        assertThatThrownBy(() -> JsonPatch.apply(document, json("[{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/b\"}]")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonPatch.apply(document, json("[{\"op\":\"remove\",\"path\":\"/a/5\"}]")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonPatch.apply(document, json("[{\"op\":\"replace\",\"path\":\"/missing\",\"value\":1}]")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonPatch.apply(document, json("[{\"op\":\"remove\",\"path\":\"\"}]")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertRoundTrip(String source, String target) throws Exception {
+        JsonNode a = json(source);
+        JsonNode b = json(target);
+
+        assertThat(JsonPatch.apply(a, JsonPatch.diff(a, b))).isEqualTo(b);
+    }
+
+    private JsonNode json(String value) throws Exception {
+        return mapper.readTree(value);
+    }
+}